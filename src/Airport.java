@@ -1,9 +1,11 @@
+import java.util.ArrayList;
 import java.util.List;
 
 public class Airport {
   private final String name;
   private final String airportCode;
   private final List<Airport> outboundFlights;
+  private final List<RouteListener> routeListeners = new ArrayList<>();
   
   public String getName() {
     return name;
@@ -13,6 +15,13 @@ public class Airport {
     return airportCode;
   }
 
+  /**
+   * Returns the airports this airport has flights to. Editing the returned list directly does
+   * not notify route listeners; use {@link #addRoute(Airport)} and {@link #removeRoute(Airport)}
+   * when anything may be tracking this airport's routes.
+   *
+   * @return the outbound flights
+   */
   public List<Airport> getOutboundFlights() {
     return outboundFlights;
   }
@@ -23,5 +32,52 @@ public class Airport {
     this.outboundFlights = outboundFlights;
   }
 
-  
+  /**
+   * Adds a flight from this airport to the given airport and notifies route listeners.
+   *
+   * @param destination the airport to fly to
+   */
+  public void addRoute(Airport destination) {
+    outboundFlights.add(destination);
+    for (RouteListener listener : new ArrayList<>(routeListeners)) {
+      listener.routeAdded(this, destination);
+    }
+  }
+
+  /**
+   * Removes one flight from this airport to the given airport and notifies route listeners.
+   *
+   * @param destination the airport no longer flown to
+   * @return true if a flight was removed, false if there was none
+   */
+  public boolean removeRoute(Airport destination) {
+    if (!outboundFlights.remove(destination)) {
+      return false;
+    }
+    for (RouteListener listener : new ArrayList<>(routeListeners)) {
+      listener.routeRemoved(this, destination);
+    }
+    return true;
+  }
+
+  /**
+   * Registers a listener for routes added to or removed from this airport. Registering the same
+   * listener twice has no effect.
+   *
+   * @param listener the listener to notify
+   */
+  public void addRouteListener(RouteListener listener) {
+    if (!routeListeners.contains(listener)) {
+      routeListeners.add(listener);
+    }
+  }
+
+  /**
+   * Unregisters a route listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeRouteListener(RouteListener listener) {
+    routeListeners.remove(listener);
+  }
 }
@@ -0,0 +1,149 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Answers many reachability queries over one {@link IntGraph} in a few shared passes instead of
+ * one traversal per query.
+ *
+ * Sources are processed 64 at a time. Each vertex carries a {@code long} whose bit i is set once
+ * source i of the current group reaches it, and bits are pushed along edges with a worklist until
+ * nothing changes. A hub reached by all 64 sources is therefore expanded a handful of times
+ * rather than 64 times.
+ */
+public class BatchReachability {
+
+  /**
+   * Determines, for every source and target, whether the target can be reached from the source.
+   * A vertex always reaches itself. Negative ids, such as {@link CsrGraph#idOf(Object)} returns
+   * for payloads not in the graph, neither reach nor are reached by anything.
+   *
+   * @param graph the graph
+   * @param sources the source vertex ids, or -1 for vertices not in the graph
+   * @param targets the target vertex ids, or -1 for vertices not in the graph
+   * @return a matrix whose bit (i, j) is set if {@code sources[i]} reaches {@code targets[j]}
+   */
+  public static BitMatrix reach(IntGraph graph, int[] sources, int[] targets) {
+    BitMatrix result = new BitMatrix(sources.length, targets.length);
+    Propagation propagation = new Propagation(graph);
+    for (int group = 0; group < sources.length; group += 64) {
+      int size = Math.min(64, sources.length - group);
+      long[] masks = propagation.run(sources, group, size);
+      for (int j = 0; j < targets.length; j++) {
+        long bits = targets[j] < 0 ? 0 : masks[targets[j]];
+        while (bits != 0) {
+          result.set(group + Long.numberOfTrailingZeros(bits), j);
+          bits &= bits - 1;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Determines, for each pair {@code (from[k], to[k])}, whether {@code to[k]} can be reached from
+   * {@code from[k]}. Pairs are grouped by source so each distinct source is propagated once.
+   * Pairs with a negative id on either side are never reachable.
+   *
+   * @param graph the graph
+   * @param from the source vertex id of each pair, or -1 for a vertex not in the graph
+   * @param to the destination vertex id of each pair, or -1 for a vertex not in the graph
+   * @return a bitset whose bit k is set if pair k is reachable
+   */
+  public static BitSet canReach(IntGraph graph, int[] from, int[] to) {
+    if (from.length != to.length) {
+      throw new IllegalArgumentException("Got " + from.length + " sources but " + to.length + " destinations");
+    }
+    Map<Integer, Integer> sourceIndex = new HashMap<>();
+    int[] sources = new int[from.length];
+    int[] pairSource = new int[from.length];
+    for (int k = 0; k < from.length; k++) {
+      if (from[k] < 0 || to[k] < 0) {
+        pairSource[k] = -1;
+        continue;
+      }
+      Integer index = sourceIndex.get(from[k]);
+      if (index == null) {
+        index = sourceIndex.size();
+        sourceIndex.put(from[k], index);
+        sources[index] = from[k];
+      }
+      pairSource[k] = index;
+    }
+    int sourceCount = sourceIndex.size();
+
+    BitSet result = new BitSet(from.length);
+    Propagation propagation = new Propagation(graph);
+    for (int group = 0; group < sourceCount; group += 64) {
+      int size = Math.min(64, sourceCount - group);
+      long[] masks = propagation.run(sources, group, size);
+      for (int k = 0; k < from.length; k++) {
+        int bit = pairSource[k] - group;
+        if (pairSource[k] >= 0 && bit >= 0 && bit < size && (masks[to[k]] & (1L << bit)) != 0) {
+          result.set(k);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reusable state for propagating a group of up to 64 sources through a graph.
+   */
+  private static class Propagation {
+    private final IntGraph graph;
+    private final long[] masks;
+    private final int[] queue;
+    private final boolean[] queued;
+
+    Propagation(IntGraph graph) {
+      this.graph = graph;
+      this.masks = new long[graph.vertexCount()];
+      // A vertex is never queued twice at once, so a ring of vertexCount slots is enough
+      this.queue = new int[graph.vertexCount()];
+      this.queued = new boolean[graph.vertexCount()];
+    }
+
+    /**
+     * Propagates sources {@code sources[first]} to {@code sources[first + size - 1]} and returns
+     * each vertex's mask of the sources that reach it. Negative sources reach nothing.
+     */
+    long[] run(int[] sources, int first, int size) {
+      Arrays.fill(masks, 0L);
+      int n = queue.length;
+      int head = 0;
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        int source = sources[first + i];
+        if (source < 0) {
+          continue;
+        }
+        masks[source] |= 1L << i;
+        if (!queued[source]) {
+          queued[source] = true;
+          queue[(head + count++) % n] = source;
+        }
+      }
+      while (count > 0) {
+        int v = queue[head];
+        head = (head + 1) % n;
+        count--;
+        queued[v] = false;
+        long bits = masks[v];
+        for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+          int w = graph.target(e);
+          long added = bits & ~masks[w];
+          if (added != 0) {
+            masks[w] |= added;
+            if (!queued[w]) {
+              queued[w] = true;
+              queue[(head + count++) % n] = w;
+            }
+          }
+        }
+      }
+      return masks;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+
+public class BatchReachabilityTest {
+
+  @Test
+  public void testMatchesTraversal() {
+    int[][] adjacency = GraphGenerators.generate(GraphGenerators.Shape.POWER_LAW, 300, 7);
+    CsrGraph<Integer> graph = CsrGraph.compile(GraphGenerators.toMap(adjacency));
+    int n = graph.vertexCount();
+    // More than 64 sources so several groups are propagated
+    int[] sources = new int[100];
+    int[] targets = new int[n];
+    for (int i = 0; i < sources.length; i++) {
+      sources[i] = (i * 37) % n;
+    }
+    for (int j = 0; j < n; j++) {
+      targets[j] = j;
+    }
+    BitMatrix matrix = BatchReachability.reach(graph, sources, targets);
+    int[] from = new int[sources.length * 5];
+    int[] to = new int[from.length];
+    for (int i = 0; i < sources.length; i++) {
+      for (int j = 0; j < n; j++) {
+        assertEquals(Build.canReach(graph, sources[i], j), matrix.get(i, j));
+      }
+      for (int k = 0; k < 5; k++) {
+        from[i * 5 + k] = sources[(i + k) % sources.length];
+        to[i * 5 + k] = (i * 11 + k * 53) % n;
+      }
+    }
+    BitSet pairs = BatchReachability.canReach(graph, from, to);
+    for (int k = 0; k < from.length; k++) {
+      assertEquals(Build.canReach(graph, from[k], to[k]), pairs.get(k));
+    }
+  }
+
+  @Test
+  public void testMissingIdsAreUnreachable() {
+    CsrGraph<Integer> graph = CsrGraph.compile(CsrGraphTest.buildComplexMap());
+    int missing = graph.idOf(1000);
+    assertEquals(-1, missing);
+    int from3 = graph.idOf(3);
+    int to91 = graph.idOf(91);
+
+    BitMatrix matrix = BatchReachability.reach(graph, new int[] {from3, missing}, new int[] {to91, missing});
+    assertTrue(matrix.get(0, 0));
+    assertFalse(matrix.get(0, 1));
+    assertFalse(matrix.get(1, 0));
+    assertFalse(matrix.get(1, 1));
+
+    BitSet pairs = BatchReachability.canReach(graph, new int[] {from3, missing, from3, missing},
+        new int[] {to91, to91, missing, missing});
+    assertEquals(1, pairs.cardinality());
+    assertTrue(pairs.get(0));
+  }
+}
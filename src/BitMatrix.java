@@ -0,0 +1,74 @@
+/**
+ * Fixed-size matrix of bits stored row by row in a {@code long[]}, using one bit per cell.
+ */
+public final class BitMatrix {
+  private final int rows;
+  private final int columns;
+  private final int wordsPerRow;
+  private final long[] words;
+
+  /**
+   * Creates a matrix with every bit cleared.
+   *
+   * @param rows the number of rows
+   * @param columns the number of columns
+   */
+  public BitMatrix(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    this.wordsPerRow = (columns + 63) >>> 6;
+    this.words = new long[Math.multiplyExact(rows, wordsPerRow)];
+  }
+
+  /**
+   * Returns the bit at the given cell.
+   *
+   * @param row the row index
+   * @param column the column index
+   * @return true if the bit is set
+   */
+  public boolean get(int row, int column) {
+    return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  /**
+   * Sets the bit at the given cell.
+   *
+   * @param row the row index
+   * @param column the column index
+   */
+  public void set(int row, int column) {
+    words[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return the row count
+   */
+  public int rowCount() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns.
+   *
+   * @return the column count
+   */
+  public int columnCount() {
+    return columns;
+  }
+
+  /**
+   * Returns the number of set bits.
+   *
+   * @return the number of set bits
+   */
+  public long cardinality() {
+    long count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+}
@@ -0,0 +1,56 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Visited-state backed by a {@code long[]} bitset, using one bit per vertex.
+ * Clearing takes time proportional to the capacity divided by 64. Ids outside the capacity
+ * are rejected rather than landing in the unused bits of the last word.
+ */
+public class BitsetVisited implements VisitedSet {
+  private final long[] words;
+  private final int capacity;
+
+  /**
+   * Creates a bitset able to track the given number of vertices.
+   *
+   * @param capacity the number of vertex ids
+   */
+  public BitsetVisited(int capacity) {
+    this.capacity = capacity;
+    this.words = new long[(capacity + 63) >>> 6];
+  }
+
+  @Override
+  public boolean mark(int id) {
+    Objects.checkIndex(id, capacity);
+    long bit = 1L << id;
+    int index = id >>> 6;
+    if ((words[index] & bit) != 0) {
+      return false;
+    }
+    words[index] |= bit;
+    return true;
+  }
+
+  @Override
+  public boolean isMarked(int id) {
+    Objects.checkIndex(id, capacity);
+    return (words[id >>> 6] & (1L << id)) != 0;
+  }
+
+  @Override
+  public void unmark(int id) {
+    Objects.checkIndex(id, capacity);
+    words[id >>> 6] &= ~(1L << id);
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(words, 0L);
+  }
+
+  @Override
+  public int capacity() {
+    return capacity;
+  }
+}
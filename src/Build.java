@@ -1,7 +1,15 @@
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class Build {
@@ -14,16 +22,34 @@ public class Build {
    * @param k the maximum word length (exclusive)
    */
   public static void printShortWords(Vertex<String> vertex, int k) {
+    shortWords(vertex, k).forEach(System.out::println);
   }
 
   /**
-   * Returns the longest word reachable from the given vertex, including its own value.
+   * Returns a lazy stream of the words that are reachable from the given vertex and are strictly
+   * shorter than k characters. The graph is traversed only as far as the stream is consumed.
+   *
+   * @param vertex the starting vertex, or null for an empty stream
+   * @param k the maximum word length (exclusive)
+   * @return the short reachable words
+   */
+  public static Stream<String> shortWords(Vertex<String> vertex, int k) {
+    return new Traversal<Vertex<String>>("shortWords", v -> v.neighbors).stream(vertex)
+        .map(v -> v.data)
+        .filter(word -> word != null && word.length() < k);
+  }
+
+  /**
+   * Returns the longest word reachable from the given vertex, including its own value. The
+   * reachable vertices are compiled into a {@link CsrGraph} first, so the search marks visited
+   * vertices in a flat array rather than a hash set.
    *
    * @param vertex the starting vertex
    * @return the longest reachable word, or an empty string if the vertex is null
    */
   public static String longestWord(Vertex<String> vertex) {
-    return "";
+    // The starting vertex gets id 0
+    return longestWord(CsrGraph.compile(vertex), vertex == null ? -1 : 0);
   }
 
   /**
@@ -34,18 +60,205 @@ public class Build {
    * @param <T> the type of values stored in the vertices
    */
   public static <T> void printSelfLoopers(Vertex<T> vertex) {
+    selfLoopers(vertex).forEach(System.out::println);
+  }
+
+  /**
+   * Returns a lazy stream of the values of all vertices that are reachable from the given vertex
+   * and have themself as a neighbor. The graph is traversed only as far as the stream is consumed.
+   *
+   * @param vertex the starting vertex, or null for an empty stream
+   * @param <T> the type of values stored in the vertices
+   * @return the values of the reachable self-looping vertices
+   */
+  public static <T> Stream<T> selfLoopers(Vertex<T> vertex) {
+    return new Traversal<Vertex<T>>("selfLoopers", v -> v.neighbors).stream(vertex)
+        .filter(v -> v.neighbors != null && v.neighbors.contains(v))
+        .map(v -> v.data);
   }
 
   /**
    * Determines whether it is possible to reach the destination airport through a series of flights
    * starting from the given airport. If the start and destination airports are the same, returns true.
+   * The airports reachable from the start are compiled into a {@link CsrGraph} and searched by id;
+   * callers asking many questions of one network should compile it once and use
+   * {@link #canReach(CsrTraversal, int, int)}.
    *
    * @param start the starting airport
    * @param destination the destination airport
    * @return true if the destination is reachable from the start, false otherwise
    */
   public static boolean canReach(Airport start, Airport destination) {
-    return false;
+    if (start == null || destination == null) {
+      return false;
+    }
+    CsrGraph<Airport> graph = CsrGraph.compile(Collections.singletonList(start),
+        Airport::getOutboundFlights, airport -> airport);
+    // The start gets id 0; a destination missing from the graph is not reachable from it
+    return canReach(graph, 0, graph.idOf(destination));
+  }
+
+  /**
+   * Determines whether the destination airport can be reached from the start airport by
+   * searching forward from the start and backward from the destination at the same time.
+   * Each step expands whichever frontier is smaller by one level, and the search stops as soon
+   * as the two frontiers meet. On networks with large hubs this explores far fewer airports
+   * than a one-sided search when the destination is reachable.
+   *
+   * @param start the starting airport
+   * @param destination the destination airport
+   * @param inbound reverse-edge index covering the network
+   * @return true if the destination is reachable from the start, false otherwise
+   */
+  public static boolean canReach(Airport start, Airport destination, InboundFlights inbound) {
+    if (start == null || destination == null) {
+      return false;
+    }
+    if (start == destination) {
+      return true;
+    }
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    long visitedCount = 0;
+    long edges = 0;
+    long revisits = 0;
+    int maxFrontier = 1;
+    boolean found = false;
+    Set<Airport> forwardSeen = new HashSet<>();
+    Set<Airport> backwardSeen = new HashSet<>();
+    List<Airport> forward = new ArrayList<>();
+    List<Airport> backward = new ArrayList<>();
+    forwardSeen.add(start);
+    backwardSeen.add(destination);
+    forward.add(start);
+    backward.add(destination);
+
+    search:
+    while (!forward.isEmpty() && !backward.isEmpty()) {
+      boolean expandForward = forward.size() <= backward.size();
+      List<Airport> frontier = expandForward ? forward : backward;
+      Set<Airport> seen = expandForward ? forwardSeen : backwardSeen;
+      Set<Airport> otherSeen = expandForward ? backwardSeen : forwardSeen;
+      List<Airport> next = new ArrayList<>();
+      for (Airport airport : frontier) {
+        visitedCount++;
+        List<Airport> neighbors = expandForward
+            ? airport.getOutboundFlights()
+            : inbound.getInboundFlights(airport);
+        for (Airport neighbor : neighbors) {
+          if (neighbor == null) {
+            continue;
+          }
+          edges++;
+          if (otherSeen.contains(neighbor)) {
+            found = true;
+            break search;
+          }
+          if (seen.add(neighbor)) {
+            next.add(neighbor);
+          } else {
+            revisits++;
+          }
+        }
+      }
+      if (expandForward) {
+        forward = next;
+      } else {
+        backward = next;
+      }
+      maxFrontier = Math.max(maxFrontier, next.size());
+    }
+    if (recorder != null) {
+      recorder.record(new TraversalStats("canReach(bidirectional)", visitedCount, edges, revisits, maxFrontier,
+          System.nanoTime() - startNanos));
+    }
+    return found;
+  }
+
+  /**
+   * Returns the fewest flights needed to get from the start airport to the destination, if that
+   * is at most {@code maxHops}. If the start and destination are the same, returns 0.
+   *
+   * @param start the starting airport
+   * @param destination the destination airport
+   * @param maxHops the most flights allowed
+   * @return the minimal number of flights, or -1 if the destination cannot be reached within maxHops
+   * @see #minHops(Airport, Airport, int, Predicate)
+   */
+  public static int minHops(Airport start, Airport destination, int maxHops) {
+    return minHops(start, destination, maxHops, airport -> true);
+  }
+
+  /**
+   * Returns the fewest flights needed to get from the start airport to the destination, if that
+   * is at most {@code maxHops}, connecting only through airports accepted by the filter. The
+   * start and destination themselves are not checked against the filter. If the start and
+   * destination are the same, returns 0.
+   *
+   * The search is breadth-first one level at a time, so it never looks further than maxHops
+   * flights from the start: it stops as soon as the destination is seen among the next level's
+   * airports, rejected airports are never expanded, and airports on the last allowed level are
+   * only checked against the destination, not expanded.
+   *
+   * @param start the starting airport
+   * @param destination the destination airport
+   * @param maxHops the most flights allowed
+   * @param connectVia accepts the airports a route may connect through
+   * @return the minimal number of flights, or -1 if the destination cannot be reached within maxHops
+   */
+  public static int minHops(Airport start, Airport destination, int maxHops, Predicate<? super Airport> connectVia) {
+    if (start == null || destination == null || maxHops < 0) {
+      return -1;
+    }
+    if (start == destination) {
+      return 0;
+    }
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    long visitedCount = 0;
+    long edges = 0;
+    long revisits = 0;
+    int maxFrontier = 1;
+    int found = -1;
+    Set<Airport> seen = new HashSet<>();
+    seen.add(start);
+    List<Airport> frontier = new ArrayList<>();
+    frontier.add(start);
+    search:
+    for (int hops = 1; hops <= maxHops && !frontier.isEmpty(); hops++) {
+      boolean lastLevel = hops == maxHops;
+      List<Airport> next = lastLevel ? null : new ArrayList<>();
+      for (Airport airport : frontier) {
+        visitedCount++;
+        for (Airport neighbor : airport.getOutboundFlights()) {
+          if (neighbor == null) {
+            continue;
+          }
+          edges++;
+          if (neighbor == destination) {
+            found = hops;
+            break search;
+          }
+          if (lastLevel) {
+            continue;
+          }
+          if (!seen.add(neighbor)) {
+            revisits++;
+          } else if (connectVia.test(neighbor)) {
+            next.add(neighbor);
+          }
+        }
+      }
+      frontier = next;
+      if (next != null) {
+        maxFrontier = Math.max(maxFrontier, next.size());
+      }
+    }
+    if (recorder != null) {
+      recorder.record(new TraversalStats("minHops", visitedCount, edges, revisits, maxFrontier,
+          System.nanoTime() - startNanos));
+    }
+    return found;
   }
 
   /**
@@ -58,6 +271,343 @@ public class Build {
    * @return a set of values that cannot be reached from the starting value
    */
   public static <T> Set<T> unreachable(Map<T, List<T>> graph, T starting) {
-    return new HashSet<>();
+    // Search by dense id over a compiled copy rather than hashing every visited value
+    CsrGraph<T> compiled = CsrGraph.compile(graph);
+    return unreachable(compiled, compiled.idOf(starting));
+  }
+
+  /**
+   * Returns the set of all values in the graph that cannot be reached from the given starting
+   * value, expanding the search on the common fork-join pool.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param starting the starting value
+   * @param <T> the type of values stored in the graph
+   * @return a set of values that cannot be reached from the starting value
+   * @see #unreachableParallel(Map, Object, ForkJoinPool)
+   */
+  public static <T> Set<T> unreachableParallel(Map<T, List<T>> graph, T starting) {
+    return unreachableParallel(graph, starting, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the set of all values in the graph that cannot be reached from the given starting
+   * value, using every worker of the given pool. The search is level-synchronous: each
+   * breadth-first level is expanded in parallel against a concurrent visited set, and the
+   * complement is then filtered in parallel. Returns the same result as
+   * {@link #unreachable(Map, Object)}; the graph must not be modified while this runs.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param starting the starting value
+   * @param pool the pool to run the search on
+   * @param <T> the type of values stored in the graph
+   * @return a set of values that cannot be reached from the starting value
+   */
+  public static <T> Set<T> unreachableParallel(Map<T, List<T>> graph, T starting, ForkJoinPool pool) {
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    long edges = 0;
+    long visitedCount = 0;
+    int maxFrontier = 0;
+    Set<T> visited = ConcurrentHashMap.newKeySet(graph.size());
+    if (starting != null) {
+      visited.add(starting);
+    }
+    List<T> frontier = starting == null ? new ArrayList<>() : Collections.singletonList(starting);
+    while (!frontier.isEmpty()) {
+      List<T> current = frontier;
+      visitedCount += current.size();
+      maxFrontier = Math.max(maxFrontier, current.size());
+      if (recorder != null) {
+        // Counted as a separate reduction so the expansion below shares no counter
+        edges += pool.submit(() -> current.parallelStream()
+            .map(graph::get)
+            .filter(Objects::nonNull)
+            .mapToLong(neighbors -> neighbors.stream().filter(Objects::nonNull).count())
+            .sum()).join();
+      }
+      // Streams started from inside a pool task run on that pool rather than the common pool
+      frontier = pool.submit(() -> current.parallelStream()
+          .map(graph::get)
+          .filter(Objects::nonNull)
+          .flatMap(List::stream)
+          .filter(Objects::nonNull)
+          .filter(visited::add)
+          .collect(Collectors.toList())).join();
+    }
+    if (recorder != null) {
+      // Every edge that did not discover a vertex led to one already visited
+      recorder.record(new TraversalStats("unreachableParallel", visitedCount, edges,
+          edges - Math.max(0, visitedCount - 1), maxFrontier, System.nanoTime() - startNanos));
+    }
+    return pool.submit(() -> graph.keySet().parallelStream()
+        .filter(key -> !visited.contains(key))
+        .collect(Collectors.toCollection(HashSet::new))).join();
+  }
+
+  /**
+   * Returns the keys of an int graph that cannot be reached from the given starting key. The
+   * traversal works on table slots and primitive arrays only, so nothing is boxed.
+   *
+   * @param graph the int graph
+   * @param starting the starting key
+   * @return a set of keys that cannot be reached from the starting key
+   */
+  public static IntHashSet unreachable(IntAdjacency graph, int starting) {
+    return unreachable(graph, starting, new EpochVisited(graph.capacity()));
+  }
+
+  /**
+   * Returns the keys of an int graph that cannot be reached from the given starting key, reusing
+   * the given visited state. The visited state is cleared first, so with an {@link EpochVisited}
+   * repeated queries only allocate the work stack and the result.
+   *
+   * @param graph the int graph
+   * @param starting the starting key
+   * @param visited visited state indexed by table slot, with a capacity of at least
+   *                {@code graph.capacity()}
+   * @return a set of keys that cannot be reached from the starting key
+   * @throws IllegalArgumentException if the visited state is smaller than the graph's table
+   */
+  public static IntHashSet unreachable(IntAdjacency graph, int starting, VisitedSet visited) {
+    if (visited.capacity() < graph.capacity()) {
+      throw new IllegalArgumentException("Visited set capacity " + visited.capacity()
+          + " is smaller than table capacity " + graph.capacity());
+    }
+    visited.clear();
+    int reached = 0;
+    int start = graph.slotOf(starting);
+    if (start >= 0) {
+      TraversalRecorder recorder = TraversalMetrics.recorder();
+      long startNanos = recorder == null ? 0 : System.nanoTime();
+      long edges = 0;
+      long pushed = 0;
+      int maxFrontier = 1;
+      // Each key is pushed at most once; neighbors that are not keys are never pushed
+      int[] stack = new int[graph.size()];
+      int size = 0;
+      visited.mark(start);
+      stack[size++] = start;
+      while (size > 0) {
+        int slot = stack[--size];
+        reached++;
+        int end = graph.end(slot);
+        edges += end - graph.start(slot);
+        for (int i = graph.start(slot); i < end; i++) {
+          int next = graph.slotOf(graph.neighbor(i));
+          if (next >= 0 && visited.mark(next)) {
+            stack[size++] = next;
+            pushed++;
+          }
+        }
+        maxFrontier = Math.max(maxFrontier, size);
+      }
+      if (recorder != null) {
+        recorder.record(new TraversalStats("unreachable(int)", reached, edges, edges - pushed, maxFrontier,
+            System.nanoTime() - startNanos));
+      }
+    }
+    IntHashSet unreachable = new IntHashSet(graph.size() - reached);
+    for (int slot = 0; slot < graph.capacity(); slot++) {
+      if (graph.isUsed(slot) && !visited.isMarked(slot)) {
+        unreachable.add(graph.keyAt(slot));
+      }
+    }
+    return unreachable;
+  }
+
+  /**
+   * Prints words that are reachable from the given vertex of a compiled graph and are strictly
+   * shorter than k characters.
+   *
+   * @param graph the compiled graph
+   * @param root the starting vertex id, or -1 to print nothing
+   * @param k the maximum word length (exclusive)
+   */
+  public static void printShortWords(CsrGraph<String> graph, int root, int k) {
+    new CsrTraversal("shortWords", graph).run(root, v -> {
+      String word = graph.payload(v);
+      if (word != null && word.length() < k) {
+        System.out.println(word);
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Returns the longest word reachable from the given vertex of a compiled graph, including
+   * its own value.
+   *
+   * @param graph the compiled graph
+   * @param root the starting vertex id
+   * @return the longest reachable word, or an empty string if root is -1
+   */
+  public static String longestWord(CsrGraph<String> graph, int root) {
+    return longestWord(graph, new CsrTraversal("longestWord", graph), root);
+  }
+
+  /**
+   * Returns the longest word reachable from the given vertex of a compiled graph, including
+   * its own value, reusing the given traversal's visited state and stack. The traversal is
+   * reset first.
+   *
+   * @param graph the compiled graph
+   * @param traversal a traversal over the same graph
+   * @param root the starting vertex id
+   * @return the longest reachable word, or an empty string if root is -1
+   * @throws IllegalArgumentException if the traversal walks a different graph
+   */
+  public static String longestWord(CsrGraph<String> graph, CsrTraversal traversal, int root) {
+    if (traversal.graph() != graph) {
+      throw new IllegalArgumentException("Traversal is over a different graph");
+    }
+    traversal.reset();
+    String[] longest = {""};
+    traversal.run(root, v -> {
+      String word = graph.payload(v);
+      if (word != null && word.length() > longest[0].length()) {
+        longest[0] = word;
+      }
+      return true;
+    });
+    return longest[0];
+  }
+
+  /**
+   * Prints words that are reachable from the given vertex and are strictly shorter than k
+   * characters, reading the words from an off-heap store. Lengths are checked without decoding,
+   * so only the printed words become Strings.
+   *
+   * @param graph the graph
+   * @param root the starting vertex id, or -1 to print nothing
+   * @param words the word of each vertex
+   * @param k the maximum word length (exclusive)
+   */
+  public static void printShortWords(IntGraph graph, int root, WordStore words, int k) {
+    new CsrTraversal("shortWords", graph).run(root, v -> {
+      int length = words.length(v);
+      if (length >= 0 && length < k) {
+        System.out.println(words.word(v));
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Returns the longest word reachable from the given vertex, including its own value, reading
+   * the words from an off-heap store. Only the winning word is decoded.
+   *
+   * @param graph the graph
+   * @param root the starting vertex id
+   * @param words the word of each vertex
+   * @return the longest reachable word, or an empty string if root is -1
+   */
+  public static String longestWord(IntGraph graph, int root, WordStore words) {
+    int[] longest = {-1, 0};
+    new CsrTraversal("longestWord", graph).run(root, v -> {
+      if (words.length(v) > longest[1]) {
+        longest[0] = v;
+        longest[1] = words.length(v);
+      }
+      return true;
+    });
+    return longest[0] < 0 ? "" : words.word(longest[0]);
+  }
+
+  /**
+   * Prints the payloads of all vertices that are reachable from the given vertex of a compiled
+   * graph and have themself as a neighbor. Self-loops are looked up in the graph's
+   * {@link CsrGraph#stats()}, so hub vertices cost no more than any other.
+   *
+   * @param graph the compiled graph
+   * @param root the starting vertex id, or -1 to print nothing
+   * @param <T> the type of payloads stored in the graph
+   */
+  public static <T> void printSelfLoopers(CsrGraph<T> graph, int root) {
+    DegreeStats stats = graph.stats();
+    new CsrTraversal("selfLoopers", graph).run(root, v -> {
+      if (stats.hasSelfLoop(v)) {
+        System.out.println(graph.payload(v));
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Determines whether the destination vertex of a compiled graph can be reached from the
+   * start vertex. If the start and destination are the same, returns true.
+   *
+   * @param graph the compiled graph
+   * @param start the starting vertex id
+   * @param destination the destination vertex id
+   * @return true if the destination is reachable from the start, false otherwise
+   */
+  public static boolean canReach(IntGraph graph, int start, int destination) {
+    return canReach(new CsrTraversal("canReach", graph), start, destination);
+  }
+
+  /**
+   * Determines whether the destination vertex can be reached from the start vertex, reusing the
+   * given traversal's visited state and stack. The traversal is reset first, so callers running
+   * many queries over one graph can keep a single instance and allocate nothing per query.
+   *
+   * @param traversal the traversal to reuse
+   * @param start the starting vertex id
+   * @param destination the destination vertex id
+   * @return true if the destination is reachable from the start, false otherwise
+   */
+  public static boolean canReach(CsrTraversal traversal, int start, int destination) {
+    if (start < 0 || destination < 0) {
+      return false;
+    }
+    traversal.reset();
+    return !traversal.run(start, v -> v != destination);
+  }
+
+  /**
+   * Returns the payloads of all vertices in a compiled graph that cannot be reached from the
+   * given starting vertex. As with {@link #unreachable(Map, Object)}, only keys are reported:
+   * values of a map-compiled graph that appear only as neighbors are left out.
+   *
+   * @param graph the compiled graph
+   * @param starting the starting vertex id, or -1 if the start is not in the graph
+   * @param <T> the type of payloads stored in the graph
+   * @return a set of payloads that cannot be reached from the starting vertex
+   */
+  public static <T> Set<T> unreachable(CsrGraph<T> graph, int starting) {
+    Set<T> unreachable = new HashSet<>();
+    for (int v : unreachableIds(graph, starting)) {
+      if (v >= graph.keyCount()) {
+        // Ids are ascending and keys come first
+        break;
+      }
+      unreachable.add(graph.payload(v));
+    }
+    return unreachable;
+  }
+
+  /**
+   * Returns the ids of all vertices in a graph that cannot be reached from the given starting
+   * vertex. Works on any {@link IntGraph}, including memory-mapped ones.
+   *
+   * @param graph the graph
+   * @param starting the starting vertex id, or -1 if the start is not in the graph
+   * @return the unreachable vertex ids in ascending order
+   */
+  public static int[] unreachableIds(IntGraph graph, int starting) {
+    CsrTraversal traversal = new CsrTraversal("unreachable", graph);
+    int[] reached = {0};
+    traversal.run(starting, v -> {
+      reached[0]++;
+      return true;
+    });
+    int[] unreachable = new int[graph.vertexCount() - reached[0]];
+    int count = 0;
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      if (!traversal.isVisited(v)) {
+        unreachable[count++] = v;
+      }
+    }
+    return unreachable;
   }
 }
@@ -0,0 +1,236 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Throughput and allocation benchmark for every {@link Build} method across the graph shapes of
+ * {@link GraphGenerators}. Run with the vertex counts to test as arguments, for example
+ * {@code java -Xmx8g -cp out BuildBenchmark 1000 100000 10000000}; with no arguments it runs
+ * 1e3, 1e4 and 1e5 vertices.
+ *
+ * Each operation is warmed up and then run repeatedly for a fixed time. Every result is folded
+ * into a sink that is published when the run ends, so the JIT cannot drop work whose result is
+ * unused. The report shows operations per second and bytes allocated per operation, summed over
+ * the per-thread allocation counters of every live thread, so work handed to pool threads (as
+ * in {@code unreachableParallel}) is counted; threads that exit during a measurement are not.
+ * The measurement time per operation can be changed with {@code -Dbench.seconds=<seconds>}.
+ */
+public class BuildBenchmark {
+  private static final long SEED = 42;
+  private static final int BATCH_SIZE = 256;
+  private static final double SECONDS = Double.parseDouble(System.getProperty("bench.seconds", "1"));
+  private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+  /** Receives a hash of every result so that no measured call is dead code. */
+  static volatile int sink;
+
+  /**
+   * Result of measuring one operation.
+   */
+  static class Result {
+    final String shape;
+    final int size;
+    final String operation;
+    final double opsPerSecond;
+    final double bytesPerOp;
+
+    Result(String shape, int size, String operation, double opsPerSecond, double bytesPerOp) {
+      this.shape = shape;
+      this.size = size;
+      this.operation = operation;
+      this.opsPerSecond = opsPerSecond;
+      this.bytesPerOp = bytesPerOp;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%-11s %10d  %-28s %14.1f %16.0f %12.1f",
+          shape, size, operation, opsPerSecond, bytesPerOp, opsPerSecond * bytesPerOp / (1 << 20));
+    }
+  }
+
+  public static void main(String[] args) {
+    int[] sizes = args.length == 0 ? new int[] {1_000, 10_000, 100_000} : new int[args.length];
+    for (int i = 0; i < args.length; i++) {
+      sizes[i] = (int) Double.parseDouble(args[i]);
+    }
+    System.out.println(String.format("%-11s %10s  %-28s %14s %16s %12s",
+        "shape", "vertices", "operation", "ops/s", "bytes/op", "alloc MB/s"));
+    for (int size : sizes) {
+      for (GraphGenerators.Shape shape : GraphGenerators.Shape.values()) {
+        for (Result result : run(shape, size, System.out)) {
+          System.out.println(result);
+        }
+      }
+    }
+  }
+
+  /**
+   * Generates one graph of the given shape and size and measures every operation on it.
+   *
+   * @param shape the graph shape
+   * @param size the number of vertices
+   * @param log receives a summary of the relabeled graph before measuring starts
+   * @return one result per operation
+   */
+  static List<Result> run(GraphGenerators.Shape shape, int size, PrintStream log) {
+    int[][] adjacency = GraphGenerators.generate(shape, size, SEED);
+    Vertex<String>[] words = GraphGenerators.toWordVertices(adjacency, SEED);
+    Vertex<Integer>[] numbers = GraphGenerators.toIntegerVertices(adjacency);
+    Airport[] airports = GraphGenerators.toAirports(adjacency);
+    Map<Integer, List<Integer>> map = GraphGenerators.toMap(adjacency);
+    CsrGraph<String> wordGraph = CsrGraph.compile(words[0]);
+    CsrGraph<Integer> mapGraph = CsrGraph.compile(map);
+    // The last vertex is the one furthest from vertex 0 in the chain and clique shapes
+    Airport from = airports[0];
+    Airport to = airports[size - 1];
+    int fromId = mapGraph.idOf(0);
+    int toId = mapGraph.idOf(size - 1);
+
+    List<Result> results = new ArrayList<>();
+    String name = shape.name();
+    results.add(measure(name, size, "printShortWords", () -> Build.printShortWords(words[0], 5)));
+    results.add(measure(name, size, "printShortWords(csr)", () -> Build.printShortWords(wordGraph, 0, 5)));
+    WordStore wordStore = WordStore.of(wordGraph);
+    results.add(measure(name, size, "printShortWords(store)", () -> Build.printShortWords(wordGraph, 0, wordStore, 5)));
+    results.add(measure(name, size, "longestWord", () -> Build.longestWord(words[0])));
+    results.add(measure(name, size, "longestWord(csr)", () -> Build.longestWord(wordGraph, 0)));
+    results.add(measure(name, size, "longestWord(store)", () -> Build.longestWord(wordGraph, 0, wordStore)));
+    results.add(measure(name, size, "printSelfLoopers", () -> Build.printSelfLoopers(numbers[0])));
+    results.add(measure(name, size, "printSelfLoopers(csr)", () -> Build.printSelfLoopers(mapGraph, fromId)));
+    results.add(measure(name, size, "canReach", () -> Build.canReach(from, to)));
+    Airport near = airports[size / 2];
+    results.add(measure(name, size, "minHops(<=3)", () -> Build.minHops(from, near, 3)));
+    results.add(measure(name, size, "canReach(csr)", () -> Build.canReach(mapGraph, fromId, toId)));
+    int[] batchFrom = new int[BATCH_SIZE];
+    int[] batchTo = new int[BATCH_SIZE];
+    for (int k = 0; k < BATCH_SIZE; k++) {
+      batchFrom[k] = mapGraph.idOf((int) ((k * 7919L) % size));
+      batchTo[k] = mapGraph.idOf((int) ((k * 104729L + 1) % size));
+    }
+    CsrTraversal reused = new CsrTraversal(mapGraph);
+    results.add(measure(name, size, "canReach x" + BATCH_SIZE + "(loop)", () -> {
+      int reachable = 0;
+      for (int k = 0; k < BATCH_SIZE; k++) {
+        if (Build.canReach(reused, batchFrom[k], batchTo[k])) {
+          reachable++;
+        }
+      }
+      return reachable;
+    }));
+    results.add(measure(name, size, "canReach x" + BATCH_SIZE + "(batch)",
+        () -> BatchReachability.canReach(mapGraph, batchFrom, batchTo)));
+    results.add(measure(name, size, "unreachable", () -> Build.unreachable(map, 0)));
+    UnreachableCache<Integer> cache = new UnreachableCache<>(64L << 20);
+    results.add(measure(name, size, "unreachable(cached)", () -> cache.unreachable(map, 0, 0)));
+    results.add(measure(name, size, "unreachable(csr)", () -> Build.unreachable(mapGraph, fromId)));
+    // The map graph is numbered in key order; relabeling puts neighbors on nearby ids
+    Relabeling<Integer> rcm = Relabeling.of(mapGraph, Relabeling.Order.REVERSE_CUTHILL_MCKEE);
+    log.println("# " + shape + " " + size + " " + rcm);
+    CsrGraph<Integer> rcmGraph = rcm.graph();
+    int rcmFrom = rcm.newId(fromId);
+    int rcmTo = rcm.newId(toId);
+    results.add(measure(name, size, "canReach(csr,rcm)", () -> Build.canReach(rcmGraph, rcmFrom, rcmTo)));
+    results.add(measure(name, size, "unreachable(csr,rcm)", () -> Build.unreachable(rcmGraph, rcmFrom)));
+    results.add(measure(name, size, "unreachableParallel", () -> Build.unreachableParallel(map, 0)));
+    IntAdjacency intGraph = IntAdjacency.of(map);
+    EpochVisited slots = new EpochVisited(intGraph.capacity());
+    results.add(measure(name, size, "unreachable(int)", () -> Build.unreachable(intGraph, 0, slots)));
+    return results;
+  }
+
+  /**
+   * Warms up and then measures one operation that returns nothing. Output printed by the
+   * operation is discarded.
+   *
+   * @param shape the graph shape, for the report
+   * @param size the number of vertices, for the report
+   * @param operation the operation name, for the report
+   * @param body the operation to run
+   * @return the measured throughput and allocation
+   */
+  static Result measure(String shape, int size, String operation, Runnable body) {
+    return measure(shape, size, operation, () -> {
+      body.run();
+      return null;
+    });
+  }
+
+  /**
+   * Warms up and then measures one operation, consuming each result it returns. Output printed
+   * by the operation is discarded.
+   *
+   * @param shape the graph shape, for the report
+   * @param size the number of vertices, for the report
+   * @param operation the operation name, for the report
+   * @param body the operation to run
+   * @return the measured throughput and allocation
+   */
+  static Result measure(String shape, int size, String operation, Supplier<?> body) {
+    PrintStream originalOut = System.out;
+    System.setOut(DISCARD);
+    try {
+      runFor(body, SECONDS / 2);
+      Map<Long, Long> allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      long ops = runFor(body, SECONDS);
+      long elapsed = System.nanoTime() - start;
+      long allocated = allocatedSince(allocatedBefore);
+      return new Result(shape, size, operation, ops * 1e9 / elapsed, allocated < 0 ? Double.NaN : (double) allocated / ops);
+    } finally {
+      System.setOut(originalOut);
+    }
+  }
+
+  private static long runFor(Supplier<?> body, double seconds) {
+    long deadline = System.nanoTime() + (long) (seconds * 1e9);
+    long ops = 0;
+    int consumed = 0;
+    do {
+      consumed += System.identityHashCode(body.get());
+      ops++;
+    } while (System.nanoTime() < deadline);
+    sink += consumed;
+    return ops;
+  }
+
+  /**
+   * Returns the bytes allocated so far by each live thread, keyed by thread id, or null if the
+   * JVM does not expose per-thread allocation counts.
+   */
+  private static Map<Long, Long> allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+    long[] ids = bean.getAllThreadIds();
+    long[] bytes = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(ids);
+    Map<Long, Long> allocated = new HashMap<>();
+    for (int i = 0; i < ids.length; i++) {
+      if (bytes[i] >= 0) {
+        allocated.put(ids[i], bytes[i]);
+      }
+    }
+    return allocated;
+  }
+
+  /**
+   * Returns the bytes allocated by all live threads since the given snapshot, counting threads
+   * started since then from zero, or -1 if allocation counts are unavailable.
+   */
+  private static long allocatedSince(Map<Long, Long> before) {
+    Map<Long, Long> after = allocatedBytes();
+    if (before == null || after == null) {
+      return -1;
+    }
+    long allocated = 0;
+    for (Map.Entry<Long, Long> entry : after.entrySet()) {
+      allocated += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+    }
+    return allocated;
+  }
+}
@@ -6,11 +6,15 @@ import java.io.PrintStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class BuildTest {
 
@@ -295,6 +299,110 @@ public class BuildTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testShortWords_ShortCircuits() {
+    // "a" -> "bb" -> "ccc" -> ... far more vertices than the stream consumer asks for. Each
+    // neighbor list counts how often the traversal walks it
+    int[] expanded = {0};
+    List<Vertex<String>> chain = new ArrayList<>();
+    for (int i = 0; i <= 1000; i++) {
+      Vertex<String> vertex = new Vertex<>(i == 0 ? "a" : i % 2 == 1 ? "bb" : "ccccc");
+      vertex.neighbors = new ArrayList<Vertex<String>>() {
+        @Override
+        public Iterator<Vertex<String>> iterator() {
+          expanded[0]++;
+          return super.iterator();
+        }
+      };
+      if (i > 0) {
+        chain.get(i - 1).neighbors.add(vertex);
+      }
+      chain.add(vertex);
+    }
+    Vertex<String> head = chain.get(0);
+    assertEquals(Arrays.asList("a", "bb", "bb"), Build.shortWords(head, 3).limit(3).collect(Collectors.toList()));
+    // The third short word is vertex 3; at most the vertices up to it are expanded
+    assertTrue("expanded " + expanded[0], expanded[0] <= 4);
+    assertEquals(0, Build.shortWords(null, 3).count());
+
+    // findFirst stops the traversal itself: only the start is expanded and only its neighbor
+    // is discovered
+    int[] lookups = {0};
+    Traversal<Vertex<String>> traversal = new Traversal<>(v -> {
+      lookups[0]++;
+      return v.neighbors;
+    });
+    assertEquals("a", traversal.stream(head).findFirst().get().data);
+    assertEquals(1, lookups[0]);
+    assertEquals(2, traversal.visited().size());
+  }
+
+  @Test
+  public void testTraversal_ReuseAfterEarlyStop() {
+    // a -> b, a -> c -> d; depth-first order reaches c before b
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("a", Arrays.asList("b", "c"));
+    graph.put("c", Arrays.asList("d"));
+    Traversal<String> traversal = new Traversal<>(graph::get);
+
+    assertFalse(traversal.run("a", v -> !v.equals("c")));
+    assertEquals(new HashSet<>(Arrays.asList("a", "c")), traversal.visited());
+    List<String> reached = new ArrayList<>();
+    assertTrue(traversal.run("b", reached::add));
+    assertEquals(Arrays.asList("b"), reached);
+
+    // An iterator abandoned halfway leaves the rest of the graph reachable too
+    traversal.reset();
+    Iterator<String> abandoned = traversal.iterator("a");
+    assertEquals("a", abandoned.next());
+    assertEquals("c", abandoned.next());
+    assertEquals(Arrays.asList("b"), traversal.stream("b").collect(Collectors.toList()));
+    assertEquals(Arrays.asList("d"), traversal.stream("d").collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testTraversal_RunAfterAbandonedIterator() {
+    // a -> b, a -> c -> d; after two steps b and d are discovered but not yet returned
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("a", Arrays.asList("b", "c"));
+    graph.put("c", Arrays.asList("d"));
+    Traversal<String> traversal = new Traversal<>(graph::get);
+    Iterator<String> abandoned = traversal.iterator("a");
+    abandoned.next();
+    abandoned.next();
+
+    List<String> reached = new ArrayList<>();
+    assertTrue(traversal.run("b", reached::add));
+    assertEquals(Arrays.asList("b"), reached);
+    // Nodes reached before the iterator was abandoned stay visited
+    reached.clear();
+    assertTrue(traversal.run("c", reached::add));
+    assertEquals(Collections.emptyList(), reached);
+    assertTrue(traversal.run("d", reached::add));
+    assertEquals(Arrays.asList("d"), reached);
+  }
+
+  @Test
+  public void testCsrTraversal_ReuseAfterEarlyStop() {
+    // 0 -> 1, 0 -> 2 -> 3; depth-first order reaches 2 before 1
+    Map<Integer, List<Integer>> map = new LinkedHashMap<>();
+    map.put(0, Arrays.asList(1, 2));
+    map.put(1, new ArrayList<>());
+    map.put(2, Arrays.asList(3));
+    map.put(3, new ArrayList<>());
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    for (VisitedSet visited : Arrays.asList(new EpochVisited(4), new BitsetVisited(4))) {
+      CsrTraversal traversal = new CsrTraversal(graph, visited);
+      assertFalse(traversal.run(0, v -> v != 2));
+      assertTrue(traversal.isVisited(2));
+      assertFalse(traversal.isVisited(1));
+      assertFalse(traversal.isVisited(3));
+      List<Integer> reached = new ArrayList<>();
+      assertTrue(traversal.run(1, reached::add));
+      assertEquals(Arrays.asList(1), reached);
+    }
+  }
+
   // ====================================================
   // Tests for longestWord(Vertex<String>)
   // ====================================================
@@ -337,6 +445,44 @@ public class BuildTest {
     assertEquals("three", Build.longestWord(one));
   }
 
+  @Test
+  public void testLongestWord_DeepChain() {
+    // A chain far deeper than a recursive traversal could handle on a default thread stack.
+    Vertex<String> head = new Vertex<>("a");
+    Vertex<String> current = head;
+    for (int i = 0; i < 200_000; i++) {
+      Vertex<String> next = new Vertex<>(i == 150_000 ? "deepest" : "b");
+      current.neighbors.add(next);
+      current = next;
+    }
+    assertEquals("deepest", Build.longestWord(head));
+  }
+
+  @Test
+  public void testWordIndex_MatchesBuildAndInvalidates() {
+    Vertex<String> cat = new Vertex<>("cat");
+    Vertex<String> elephant = new Vertex<>("elephant");
+    Vertex<String> dog = new Vertex<>("dog");
+    Vertex<String> ox = new Vertex<>("ox");
+    cat.neighbors = new ArrayList<>(Arrays.asList(elephant, dog));
+    dog.neighbors = new ArrayList<>(Arrays.asList(cat));
+
+    WordIndex index = new WordIndex(cat);
+    assertEquals(Build.longestWord(cat), index.longestWord());
+    for (int k = 0; k < 10; k++) {
+      Set<String> expected = Build.shortWords(cat, k).collect(Collectors.toSet());
+      assertEquals(expected, new HashSet<>(index.shortWords(k)));
+    }
+    assertFalse(index.covers(ox));
+
+    // Mutating a covered vertex requires invalidating the index
+    assertTrue(index.covers(dog));
+    dog.neighbors.add(ox);
+    index.invalidate();
+    assertEquals(Arrays.asList("ox"), index.shortWords(3));
+    assertEquals("", new WordIndex(null).longestWord());
+  }
+
   // ====================================================
   // Tests for printSelfLoopers(Vertex<T>)
   // ====================================================
@@ -382,6 +528,16 @@ public class BuildTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testSelfLoopers_Stream() {
+    Vertex<String> A = new Vertex<>("A");
+    Vertex<String> B = new Vertex<>("B");
+    A.neighbors = new ArrayList<>(Arrays.asList(B, A));
+    B.neighbors = new ArrayList<>(Arrays.asList(B));
+    Set<String> actual = Build.selfLoopers(A).collect(Collectors.toSet());
+    assertEquals(new HashSet<>(Arrays.asList("A", "B")), actual);
+  }
+
   // ====================================================
   // Tests for canReach(Airport, Airport)
   // ====================================================
@@ -422,6 +578,178 @@ public class BuildTest {
     assertTrue(Build.canReach(data.phx, data.den));
   }
 
+  @Test
+  public void testMinHops_FewestFlights() {
+    AirportData data = buildAirportData();
+    assertEquals(0, Build.minHops(data.atl, data.atl, 0));
+    assertEquals(1, Build.minHops(data.atl, data.jfk, 3));
+    // ATL -> JFK -> DEN beats ATL -> SFO -> SEA -> DEN
+    assertEquals(2, Build.minHops(data.atl, data.den, 5));
+    assertEquals(3, Build.minHops(data.atl, data.mia, 3));
+    assertEquals(-1, Build.minHops(data.atl, data.den, 1));
+    assertEquals(-1, Build.minHops(data.dfw, data.atl, 10));
+  }
+
+  @Test
+  public void testMinHops_AvoidsFilteredAirports() {
+    AirportData data = buildAirportData();
+    // Without JFK the shortest route to DEN is ATL -> SFO -> SEA -> DEN
+    assertEquals(3, Build.minHops(data.atl, data.den, 5, airport -> airport != data.jfk));
+    assertEquals(-1, Build.minHops(data.atl, data.den, 2, airport -> airport != data.jfk));
+    // LAS is only reachable through JFK and DFW
+    assertEquals(-1, Build.minHops(data.atl, data.las, 10, airport -> airport != data.dfw));
+    // The destination itself is never filtered out
+    assertEquals(1, Build.minHops(data.atl, data.jfk, 1, airport -> airport != data.jfk));
+  }
+
+  @Test
+  public void testMinHops_SkipsNullFlights() {
+    AirportData data = buildAirportData();
+    data.atl.getOutboundFlights().add(0, null);
+    data.jfk.getOutboundFlights().add(null);
+    assertEquals(2, Build.minHops(data.atl, data.den, 5));
+    assertEquals(3, Build.minHops(data.atl, data.mia, 3, airport -> airport != null));
+    assertEquals(-1, Build.minHops(data.atl, data.phx, 10));
+  }
+
+  @Test
+  public void testCanReachBidirectional_MatchesForward() {
+    AirportData data = buildAirportData();
+    List<Airport> all = Arrays.asList(data.atl, data.jfk, data.ord, data.sfo, data.den,
+                                      data.mia, data.sea, data.dfw, data.las, data.phx);
+    InboundFlights inbound = InboundFlights.index(all);
+    for (Airport from : all) {
+      for (Airport to : all) {
+        assertEquals(from.getAirportCode() + " -> " + to.getAirportCode(),
+            Build.canReach(from, to), Build.canReach(from, to, inbound));
+      }
+    }
+  }
+
+  @Test
+  public void testCanReachBidirectional_SkipsNullFlights() {
+    AirportData data = buildAirportData();
+    data.atl.getOutboundFlights().add(0, null);
+    data.sea.getOutboundFlights().add(null);
+    List<Airport> all = Arrays.asList(data.atl, data.jfk, data.ord, data.sfo, data.den,
+                                      data.mia, data.sea, data.dfw, data.las, data.phx);
+    InboundFlights inbound = InboundFlights.index(all);
+    for (Airport from : all) {
+      for (Airport to : all) {
+        assertEquals(from.getAirportCode() + " -> " + to.getAirportCode(),
+            Build.canReach(from, to), Build.canReach(from, to, inbound));
+      }
+    }
+  }
+
+  @Test
+  public void testIncrementalReachability_TracksRouteChanges() {
+    AirportData data = buildAirportData();
+    IncrementalReachability reachability = new IncrementalReachability();
+    reachability.track(data.dfw);
+    assertTrue(reachability.canReach(data.dfw, data.las));
+    assertFalse(reachability.canReach(data.dfw, data.sea));
+
+    // LAS -> PHX opens up PHX -> SEA -> DEN -> MIA
+    data.las.addRoute(data.phx);
+    assertTrue(reachability.canReach(data.dfw, data.mia));
+    assertEquals(Build.canReach(data.dfw, data.atl), reachability.canReach(data.dfw, data.atl));
+
+    data.dfw.removeRoute(data.las);
+    assertFalse(reachability.canReach(data.dfw, data.mia));
+    assertEquals(1, reachability.recomputations());
+    assertEquals(1, reachability.reachableFrom(data.dfw).size());
+  }
+
+  @Test
+  public void testIncrementalReachability_UnregistersFromUnreachableAirports() {
+    AirportData data = buildAirportData();
+    IncrementalReachability reachability = new IncrementalReachability();
+    data.las.addRoute(data.phx);
+    reachability.track(data.dfw);
+    int listened = reachability.listenedAirports();
+    assertEquals(reachability.reachableFrom(data.dfw).size(), listened);
+
+    data.dfw.removeRoute(data.las);
+    assertEquals(1, reachability.listenedAirports());
+
+    // Edits to airports no longer reachable are not seen and change nothing
+    long recomputations = reachability.recomputations();
+    data.phx.removeRoute(data.sea);
+    data.phx.addRoute(data.sea);
+    assertEquals(recomputations, reachability.recomputations());
+
+    reachability.untrack(data.dfw);
+    assertEquals(0, reachability.listenedAirports());
+    data.dfw.addRoute(data.las);
+    assertEquals(0, reachability.listenedAirports());
+    assertTrue(reachability.reachableFrom(data.dfw).isEmpty());
+  }
+
+  @Test
+  public void testIncrementalReachability_RemovalOnlyRepairsDownstream() {
+    // A long chain with a shortcut around its second hop
+    List<Airport> chain = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      chain.add(new Airport("Airport " + i, "A" + i, new ArrayList<>()));
+    }
+    for (int i = 0; i + 1 < chain.size(); i++) {
+      chain.get(i).addRoute(chain.get(i + 1));
+    }
+    chain.get(0).addRoute(chain.get(2));
+    IncrementalReachability reachability = new IncrementalReachability();
+    reachability.track(chain.get(0));
+
+    // Only the airport cut off is examined
+    chain.get(0).removeRoute(chain.get(1));
+    assertFalse(reachability.canReach(chain.get(0), chain.get(1)));
+    assertTrue(reachability.canReach(chain.get(0), chain.get(999)));
+    assertEquals(1, reachability.repairVisits());
+    assertEquals(999, reachability.listenedAirports());
+
+    // Worst case: cutting the chain near its start revisits everything after the cut
+    chain.get(3).removeRoute(chain.get(4));
+    assertEquals(3, reachability.reachableFrom(chain.get(0)).size());
+    assertEquals(1 + 996, reachability.repairVisits());
+    assertEquals(3, reachability.listenedAirports());
+  }
+
+  @Test
+  public void testIncrementalReachability_MatchesTraversalUnderRandomEdits() {
+    java.util.Random random = new java.util.Random(11);
+    List<Airport> airports = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      airports.add(new Airport("Airport " + i, "A" + i, new ArrayList<>()));
+    }
+    for (int i = 0; i < 60; i++) {
+      airports.get(random.nextInt(40)).addRoute(airports.get(random.nextInt(40)));
+    }
+    IncrementalReachability reachability = new IncrementalReachability();
+    for (int s = 0; s < 40; s += 7) {
+      reachability.track(airports.get(s));
+    }
+    for (int step = 0; step < 500; step++) {
+      Airport from = airports.get(random.nextInt(40));
+      if (random.nextBoolean() && !from.getOutboundFlights().isEmpty()) {
+        from.removeRoute(from.getOutboundFlights().get(random.nextInt(from.getOutboundFlights().size())));
+      } else {
+        from.addRoute(airports.get(random.nextInt(40)));
+      }
+      if (step == 250) {
+        reachability.untrack(airports.get(7));
+      }
+      for (int s = 0; s < 40; s += 7) {
+        if (s == 7 && step >= 250) {
+          continue;
+        }
+        for (Airport to : airports) {
+          assertEquals("step " + step, Build.canReach(airports.get(s), to),
+              reachability.canReach(airports.get(s), to));
+        }
+      }
+    }
+  }
+
   // ====================================================
   // Tests for unreachable(Map<T, List<T>>, T)
   // ====================================================
@@ -489,4 +817,215 @@ public class BuildTest {
     Set<String> expected = new HashSet<>(Arrays.asList("A", "B", "C"));
     assertEquals(expected, unreachable);
   }
+
+  @Test
+  public void testUnreachableParallel_MatchesSequential() {
+    Map<Integer, Set<Integer>> graph = buildComplexMap();
+    Map<Integer, List<Integer>> graphList = new HashMap<>();
+    for (Map.Entry<Integer, Set<Integer>> entry : graph.entrySet()) {
+      graphList.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    for (Integer start : Arrays.asList(3, 7, 23, 67, 100)) {
+      assertEquals(Build.unreachable(graphList, start), Build.unreachableParallel(graphList, start));
+    }
+  }
+
+  @Test
+  public void testUnreachableCache_MatchesAndCountsHits() {
+    Map<Integer, Set<Integer>> graph = buildComplexMap();
+    Map<Integer, List<Integer>> graphList = new HashMap<>();
+    for (Map.Entry<Integer, Set<Integer>> entry : graph.entrySet()) {
+      graphList.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    UnreachableCache<Integer> cache = new UnreachableCache<>(1 << 20);
+    for (int round = 0; round < 2; round++) {
+      for (Integer start : Arrays.asList(3, 7, 23, 67, 100)) {
+        Set<Integer> expected = Build.unreachable(graphList, start);
+        Set<Integer> cached = cache.unreachable(graphList, 1, start);
+        assertEquals(expected, cached);
+        assertEquals(expected.size(), cached.size());
+        assertEquals(new HashSet<>(cached), expected);
+      }
+    }
+    assertEquals(5, cache.misses());
+    assertEquals(5, cache.hits());
+    assertEquals(0.5, cache.hitRate(), 1e-9);
+
+    // A new version drops every cached result
+    graphList.get(67).add(3);
+    assertEquals(Build.unreachable(graphList, 67), cache.unreachable(graphList, 2, 67));
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.invalidations());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnreachableCache_ResultsAreImmutable() {
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("A", new ArrayList<>(Arrays.asList("B")));
+    graph.put("B", new ArrayList<>());
+    new UnreachableCache<String>(1 << 10).unreachable(graph, 0, "B").add("C");
+  }
+
+  @Test
+  public void testUnreachableCache_EvictsLeastRecentlyUsed() {
+    Map<Integer, List<Integer>> graph = GraphGenerators.toMap(
+        GraphGenerators.generate(GraphGenerators.Shape.CHAIN, 1000, 1));
+    // Near the end of the chain only a few vertices are reachable, so each result stores those
+    // few ids; next to the compiled graph the budget has room for the results from 990 and 995
+    // but not a third
+    long graphBytes = CsrGraph.compile(graph).sizeInBytes();
+    UnreachableCache<Integer> cache = new UnreachableCache<>(graphBytes + 300);
+    cache.unreachable(graph, 0, 990);
+    cache.unreachable(graph, 0, 995);
+    cache.unreachable(graph, 0, 990);
+    cache.unreachable(graph, 0, 999);
+    assertEquals(1, cache.evictions());
+    cache.unreachable(graph, 0, 990);
+    assertEquals(2, cache.hits());
+    assertEquals(Build.unreachable(graph, 995), cache.unreachable(graph, 0, 995));
+    assertEquals(4, cache.misses());
+    assertTrue(cache.weightBytes() > graphBytes);
+    assertTrue(cache.weightBytes() <= graphBytes + 300);
+  }
+
+  @Test
+  public void testUnreachableCache_SnapshotSkipsNeighborOnlyValues() {
+    // 99 only appears as a neighbor, so it is not a vertex of the graph's own
+    Map<Integer, List<Integer>> graph = new LinkedHashMap<>();
+    graph.put(1, new ArrayList<>(Arrays.asList(2)));
+    graph.put(3, new ArrayList<>(Arrays.asList(99)));
+    graph.put(2, new ArrayList<>());
+    GraphSnapshot<Integer> snapshot = new GraphSnapshot<>(CsrGraph.compile(graph), 0);
+    UnreachableCache<Integer> cache = new UnreachableCache<>(1 << 20);
+    assertEquals(Collections.singleton(3), snapshot.unreachable(1));
+    assertEquals(snapshot.unreachable(1), cache.unreachable(snapshot, 1));
+    assertEquals(Build.unreachable(graph, 1), cache.unreachable(snapshot, 1));
+    assertFalse(cache.unreachable(snapshot, 1).contains(99));
+    assertEquals(snapshot.unreachable(99), cache.unreachable(snapshot, 99));
+  }
+
+  @Test
+  public void testUnreachableCache_CountsCompiledGraph() {
+    Map<Integer, List<Integer>> graph = GraphGenerators.toMap(
+        GraphGenerators.generate(GraphGenerators.Shape.RANDOM, 1000, 1));
+    long graphBytes = CsrGraph.compile(graph).sizeInBytes();
+
+    // A budget smaller than the graph still answers, but caches nothing
+    UnreachableCache<Integer> small = new UnreachableCache<>(graphBytes / 2);
+    assertEquals(Build.unreachable(graph, 5), small.unreachable(graph, 0, 5));
+    assertEquals(0, small.size());
+    assertEquals(graphBytes, small.weightBytes());
+
+    UnreachableCache<Integer> large = new UnreachableCache<>(graphBytes * 2);
+    large.unreachable(graph, 0, 5);
+    assertEquals(1, large.size());
+    assertTrue(large.weightBytes() > graphBytes);
+    large.invalidate();
+    assertEquals(0, large.weightBytes());
+  }
+
+  @Test
+  public void testTraversalMetrics_RecordsCounters() {
+    HistogramRecorder histograms = new HistogramRecorder();
+    List<TraversalStats> recorded = new ArrayList<>();
+    TraversalMetrics.setRecorder(stats -> {
+      recorded.add(stats);
+      histograms.record(stats);
+    });
+    try {
+      AirportData data = buildAirportData();
+      // DFW -> LAS: DFW and LAS are visited and DFW's one edge is scanned
+      assertTrue(Build.canReach(data.dfw, data.las));
+      GraphData graph = buildComplexGraph();
+      CsrGraph<Integer> compiled = CsrGraph.compile(graph.v3);
+      Build.unreachable(compiled, 0);
+    } finally {
+      TraversalMetrics.setRecorder(null);
+    }
+    assertEquals(2, recorded.size());
+    TraversalStats canReach = recorded.get(0);
+    assertEquals("canReach", canReach.getOperation());
+    assertEquals(2, canReach.getVerticesVisited());
+    assertEquals(1, canReach.getEdgesScanned());
+    TraversalStats unreachable = recorded.get(1);
+    assertEquals("unreachable", unreachable.getOperation());
+    // The nine reachable vertices have 15 edges; eight lead to a new vertex and seven are revisits
+    assertEquals(9, unreachable.getVerticesVisited());
+    assertEquals(15, unreachable.getEdgesScanned());
+    assertEquals(7, unreachable.getRevisitsAvoided());
+    assertEquals(1, histograms.count("canReach"));
+    assertEquals(15, histograms.edgesScanned("unreachable"));
+  }
+
+  @Test
+  public void testTraversalMetrics_CoversEverySearch() {
+    Map<String, TraversalStats> recorded = new HashMap<>();
+    TraversalMetrics.setRecorder(stats -> recorded.put(stats.getOperation(), stats));
+    try {
+      AirportData data = buildAirportData();
+      List<Airport> all = Arrays.asList(data.atl, data.jfk, data.ord, data.sfo, data.den,
+                                        data.mia, data.sea, data.dfw, data.las, data.phx);
+      assertTrue(Build.canReach(data.atl, data.las, InboundFlights.index(all)));
+      assertEquals(2, Build.minHops(data.atl, data.sea, 5));
+
+      Map<Integer, List<Integer>> graph = new HashMap<>();
+      graph.put(1, new ArrayList<>(Arrays.asList(2, 3, null)));
+      graph.put(2, new ArrayList<>(Arrays.asList(1)));
+      graph.put(4, new ArrayList<>());
+      assertEquals(Collections.singleton(4), Build.unreachable(graph, 1));
+      assertEquals(Collections.singleton(4), Build.unreachableParallel(graph, 1));
+      assertEquals(1, Build.unreachable(IntAdjacency.of(graph), 1).size());
+    } finally {
+      TraversalMetrics.setRecorder(null);
+    }
+    assertTrue(recorded.get("canReach(bidirectional)").getEdgesScanned() > 0);
+    TraversalStats minHops = recorded.get("minHops");
+    // ATL, then JFK and SFO; SFO -> SEA ends the search
+    assertEquals(3, minHops.getVerticesVisited());
+    assertEquals(2, minHops.getMaxFrontier());
+
+    // 1 -> 2, 1 -> 3, 2 -> 1: the null entry is not an edge, and 3 has no entry of its own
+    TraversalStats unreachable = recorded.get("unreachable");
+    assertEquals(3, unreachable.getVerticesVisited());
+    assertEquals(3, unreachable.getEdgesScanned());
+    assertEquals(1, unreachable.getRevisitsAvoided());
+    TraversalStats parallel = recorded.get("unreachableParallel");
+    assertEquals(3, parallel.getVerticesVisited());
+    assertEquals(3, parallel.getEdgesScanned());
+    assertEquals(1, parallel.getRevisitsAvoided());
+    assertEquals(2, parallel.getMaxFrontier());
+    TraversalStats ints = recorded.get("unreachable(int)");
+    assertEquals(2, ints.getVerticesVisited());
+    assertEquals(3, ints.getEdgesScanned());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnreachable_IntAdjacencyRejectsSmallVisitedSet() {
+    Map<Integer, List<Integer>> graph = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      graph.put(i, new ArrayList<>(Arrays.asList((i + 1) % 100)));
+    }
+    IntAdjacency adjacency = IntAdjacency.of(graph);
+    Build.unreachable(adjacency, 0, new EpochVisited(adjacency.capacity() - 1));
+  }
+
+  @Test
+  public void testUnreachable_IntAdjacencyMatchesMap() {
+    Map<Integer, Set<Integer>> graph = buildComplexMap();
+    Map<Integer, List<Integer>> graphList = new HashMap<>();
+    for (Map.Entry<Integer, Set<Integer>> entry : graph.entrySet()) {
+      graphList.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    // Negative and extreme keys exercise the open-addressing table's sentinel handling
+    graphList.put(Integer.MIN_VALUE, new ArrayList<>(Arrays.asList(3, -5)));
+    graphList.put(-5, new ArrayList<>());
+    IntAdjacency adjacency = IntAdjacency.of(graphList);
+    for (int start : new int[] {3, 67, 23, Integer.MIN_VALUE, 1000}) {
+      IntHashSet unreachable = Build.unreachable(adjacency, start);
+      Set<Integer> actual = new HashSet<>();
+      unreachable.forEach(actual::add);
+      assertEquals(Build.unreachable(graphList, start), actual);
+      assertEquals(actual.size(), unreachable.size());
+    }
+  }
 }
@@ -0,0 +1,233 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable directed graph stored in compressed sparse row form. Vertices are dense int ids
+ * from 0 to {@code vertexCount() - 1}. The outgoing edges of vertex v are the entries of
+ * {@code targets} from {@code offsets[v]} (inclusive) to {@code offsets[v + 1]} (exclusive),
+ * and the value each vertex stood for is kept in a side table of payloads.
+ *
+ * Compared to linked {@link Vertex} objects this needs one int per edge and keeps each
+ * vertex's neighbors next to each other in memory. Instances never change once built and are
+ * safe to share between threads.
+ *
+ * @param <T> the type of payloads stored for each vertex
+ */
+public final class CsrGraph<T> implements IntGraph {
+  private final int[] offsets;
+  private final int[] targets;
+  private final Object[] payloads;
+  private final int keyCount;
+  private volatile Map<T, Integer> payloadIds;
+  private volatile DegreeStats stats;
+
+  /**
+   * Wraps already-built CSR arrays. The arrays are not copied and must not be modified afterwards.
+   */
+  CsrGraph(int[] offsets, int[] targets, Object[] payloads) {
+    this(offsets, targets, payloads, payloads.length);
+  }
+
+  /**
+   * Wraps already-built CSR arrays where only the first {@code keyCount} vertices are keys of
+   * the source graph. The arrays are not copied and must not be modified afterwards.
+   */
+  CsrGraph(int[] offsets, int[] targets, Object[] payloads, int keyCount) {
+    this.offsets = offsets;
+    this.targets = targets;
+    this.payloads = payloads;
+    this.keyCount = keyCount;
+  }
+
+  /**
+   * Compiles every vertex reachable from the given vertex. The given vertex gets id 0 and the
+   * payload of each vertex is its data.
+   *
+   * @param root the starting vertex, or null for an empty graph
+   * @param <T> the type of values stored in the vertices
+   * @return the compiled graph
+   */
+  public static <T> CsrGraph<T> compile(Vertex<T> root) {
+    List<Vertex<T>> roots = root == null ? Collections.emptyList() : Collections.singletonList(root);
+    return compile(roots, v -> v.neighbors, v -> v.data);
+  }
+
+  /**
+   * Compiles a graph represented as a map of vertices to neighbors. Every key gets an id in the
+   * map's iteration order, followed by any neighbor values that are not keys themselves;
+   * {@link #keyCount()} tells the two apart.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param <T> the type of values stored in the graph
+   * @return the compiled graph
+   */
+  public static <T> CsrGraph<T> compile(Map<T, List<T>> graph) {
+    CsrGraph<T> compiled = compile(graph.keySet(), graph::get, Function.identity());
+    return new CsrGraph<>(compiled.offsets, compiled.targets, compiled.payloads, graph.size());
+  }
+
+  /**
+   * Compiles every node reachable from the given roots. Roots get the first ids in iteration
+   * order and the remaining nodes are numbered in breadth-first discovery order. Nodes are told
+   * apart with {@code equals}, so node types that do not override it are compared by identity.
+   *
+   * @param roots the nodes to start from
+   * @param neighbors returns the neighbors of a node, or null if it has none
+   * @param payload returns the value to store for a node
+   * @param <N> the type of nodes in the source graph
+   * @param <T> the type of payloads stored in the compiled graph
+   * @return the compiled graph
+   */
+  public static <N, T> CsrGraph<T> compile(Iterable<? extends N> roots,
+                                           Function<? super N, ? extends Iterable<? extends N>> neighbors,
+                                           Function<? super N, ? extends T> payload) {
+    Map<N, Integer> ids = new HashMap<>();
+    List<N> nodes = new ArrayList<>();
+    for (N root : roots) {
+      if (root != null && ids.putIfAbsent(root, nodes.size()) == null) {
+        nodes.add(root);
+      }
+    }
+
+    int[] offsets = new int[16];
+    int[] targets = new int[16];
+    int edgeCount = 0;
+    // Nodes are appended as they are discovered, so this loop is a breadth-first scan
+    for (int v = 0; v < nodes.size(); v++) {
+      if (v + 1 >= offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[v] = edgeCount;
+      Iterable<? extends N> next = neighbors.apply(nodes.get(v));
+      if (next == null) {
+        continue;
+      }
+      for (N neighbor : next) {
+        if (neighbor == null) {
+          continue;
+        }
+        Integer id = ids.putIfAbsent(neighbor, nodes.size());
+        if (id == null) {
+          id = nodes.size();
+          nodes.add(neighbor);
+        }
+        if (edgeCount == targets.length) {
+          targets = Arrays.copyOf(targets, targets.length * 2);
+        }
+        targets[edgeCount++] = id;
+      }
+    }
+
+    int vertexCount = nodes.size();
+    offsets = Arrays.copyOf(offsets, vertexCount + 1);
+    offsets[vertexCount] = edgeCount;
+    Object[] payloads = new Object[vertexCount];
+    for (int v = 0; v < vertexCount; v++) {
+      payloads[v] = payload.apply(nodes.get(v));
+    }
+    return new CsrGraph<>(offsets, Arrays.copyOf(targets, edgeCount), payloads);
+  }
+
+  @Override
+  public int vertexCount() {
+    return payloads.length;
+  }
+
+  @Override
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  @Override
+  public int firstEdge(int vertex) {
+    return offsets[vertex];
+  }
+
+  @Override
+  public int endEdge(int vertex) {
+    return offsets[vertex + 1];
+  }
+
+  @Override
+  public int target(int edge) {
+    return targets[edge];
+  }
+
+  @Override
+  public int degree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Returns how many vertices are keys of the source graph. Keys get the lowest ids, so vertex
+   * v is a key if {@code v < keyCount()}. Only graphs compiled from a map have vertices that are
+   * not keys: values that appear as neighbors but have no entry of their own.
+   *
+   * @return the number of key vertices
+   */
+  public int keyCount() {
+    return keyCount;
+  }
+
+  /**
+   * Returns the approximate memory held by the graph, not counting object headers or the
+   * payload objects themselves. The payload lookup table used by {@link #idOf(Object)} is
+   * counted whether or not it has been built yet.
+   *
+   * @return the graph size in bytes
+   */
+  public long sizeInBytes() {
+    // Each lookup entry is a hash map node, a boxed id and a table slot
+    return (long) offsets.length * Integer.BYTES + (long) targets.length * Integer.BYTES
+        + (long) payloads.length * (8 + 32 + 16 + 8);
+  }
+
+  /**
+   * Returns the payload stored for a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the vertex's payload
+   */
+  @SuppressWarnings("unchecked")
+  public T payload(int vertex) {
+    return (T) payloads[vertex];
+  }
+
+  /**
+   * Returns the id of the first vertex with the given payload. The lookup table is built on
+   * first use.
+   *
+   * @param payload the payload to look for
+   * @return the vertex id, or -1 if no vertex has the payload
+   */
+  public int idOf(T payload) {
+    Map<T, Integer> index = payloadIds;
+    if (index == null) {
+      index = new HashMap<>();
+      for (int v = 0; v < payloads.length; v++) {
+        index.putIfAbsent(payload(v), v);
+      }
+      payloadIds = index;
+    }
+    return index.getOrDefault(payload, -1);
+  }
+
+  /**
+   * Returns the self-loop flags and degrees of every vertex. They are computed on first use.
+   *
+   * @return the degree stats of this graph
+   */
+  public DegreeStats stats() {
+    DegreeStats result = stats;
+    if (result == null) {
+      result = DegreeStats.of(this);
+      stats = result;
+    }
+    return result;
+  }
+}
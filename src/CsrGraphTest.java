@@ -0,0 +1,123 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CsrGraphTest {
+
+  /**
+   * Same shape as the complex map in BuildTest; shared with the tests of the classes built on
+   * compiled graphs:
+   *
+   *   3 -> 7, 34    7 -> 12, 45, 34, 56    12 -> 7, 56, 78    34 -> 34, 91
+   *   56 -> 78      78 -> 91               91 -> 56           45 -> 23
+   *   23 -> (none)  67 -> 91
+   */
+  static Map<Integer, List<Integer>> buildComplexMap() {
+    Map<Integer, List<Integer>> graph = new HashMap<>();
+    graph.put(3, new ArrayList<>(Arrays.asList(7, 34)));
+    graph.put(7, new ArrayList<>(Arrays.asList(12, 45, 34, 56)));
+    graph.put(12, new ArrayList<>(Arrays.asList(7, 56, 78)));
+    graph.put(34, new ArrayList<>(Arrays.asList(34, 91)));
+    graph.put(56, new ArrayList<>(Arrays.asList(78)));
+    graph.put(78, new ArrayList<>(Arrays.asList(91)));
+    graph.put(91, new ArrayList<>(Arrays.asList(56)));
+    graph.put(45, new ArrayList<>(Arrays.asList(23)));
+    graph.put(23, new ArrayList<>());
+    graph.put(67, new ArrayList<>(Arrays.asList(91)));
+    return graph;
+  }
+
+  @Test
+  public void testCompileMap_PreservesEdges() {
+    Map<Integer, List<Integer>> map = buildComplexMap();
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    assertEquals(10, graph.vertexCount());
+    assertEquals(16, graph.edgeCount());
+    for (Map.Entry<Integer, List<Integer>> entry : map.entrySet()) {
+      int v = graph.idOf(entry.getKey());
+      List<Integer> neighbors = new ArrayList<>();
+      for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+        neighbors.add(graph.payload(graph.target(e)));
+      }
+      assertEquals(entry.getValue(), neighbors);
+    }
+  }
+
+  @Test
+  public void testCompileVertex_RootIsZero() {
+    Vertex<String> a = new Vertex<>("a");
+    Vertex<String> b = new Vertex<>("b");
+    a.neighbors.add(b);
+    b.neighbors.add(a);
+    CsrGraph<String> graph = CsrGraph.compile(a);
+    assertEquals(2, graph.vertexCount());
+    assertEquals("a", graph.payload(0));
+    assertEquals(-1, graph.idOf("missing"));
+  }
+
+  @Test
+  public void testUnreachable_MatchesMapVersion() {
+    Map<Integer, List<Integer>> map = buildComplexMap();
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    for (Integer start : map.keySet()) {
+      assertEquals(Build.unreachable(map, start), Build.unreachable(graph, graph.idOf(start)));
+    }
+    assertEquals(map.keySet(), Build.unreachable(graph, -1));
+  }
+
+  @Test
+  public void testCanReach_MatchesMapVersion() {
+    Map<Integer, List<Integer>> map = buildComplexMap();
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    assertTrue(Build.canReach(graph, graph.idOf(3), graph.idOf(23)));
+    assertTrue(Build.canReach(graph, graph.idOf(67), graph.idOf(67)));
+    assertFalse(Build.canReach(graph, graph.idOf(67), graph.idOf(3)));
+  }
+
+  @Test
+  public void testLongestWord_CompiledGraph() {
+    Vertex<String> one = new Vertex<>("one");
+    Vertex<String> two = new Vertex<>("two");
+    Vertex<String> three = new Vertex<>("three");
+    one.neighbors.add(two);
+    two.neighbors.add(three);
+    three.neighbors.add(one);
+    CsrGraph<String> graph = CsrGraph.compile(one);
+    assertEquals("three", Build.longestWord(graph, 0));
+    assertEquals("", Build.longestWord(graph, -1));
+  }
+
+  @Test
+  public void testUnreachable_SetContents() {
+    CsrGraph<Integer> graph = CsrGraph.compile(buildComplexMap());
+    Set<Integer> expected = new HashSet<>(Arrays.asList(3, 7, 12, 34, 45, 23));
+    assertEquals(expected, Build.unreachable(graph, graph.idOf(67)));
+  }
+
+  @Test
+  public void testUnreachable_NeighborOnlyValuesAreNotReported() {
+    // 99 appears only as a neighbor, so like the map version it is not a vertex of its own
+    Map<Integer, List<Integer>> map = new LinkedHashMap<>();
+    map.put(1, new ArrayList<>(Arrays.asList(2)));
+    map.put(3, new ArrayList<>(Arrays.asList(99)));
+    map.put(2, new ArrayList<>());
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    assertEquals(3, graph.keyCount());
+    assertEquals(new HashSet<>(Arrays.asList(3)), Build.unreachable(graph, graph.idOf(1)));
+    assertEquals(Build.unreachable(map, 1), Build.unreachable(graph, graph.idOf(1)));
+    assertEquals(Build.unreachable(map, 99), Build.unreachable(graph, graph.idOf(99)));
+    assertEquals(Build.unreachable(map, 3), new GraphSnapshot<>(graph, 0).unreachable(3));
+
+    Relabeling<Integer> relabeling = Relabeling.of(graph, Relabeling.Order.HUBS_FIRST);
+    assertEquals(3, relabeling.graph().keyCount());
+    assertEquals(Build.unreachable(map, 3), Build.unreachable(relabeling.graph(), relabeling.newId(graph.idOf(3))));
+  }
+}
@@ -0,0 +1,144 @@
+import java.util.function.IntPredicate;
+
+/**
+ * Iterative depth-first traversal over an {@link IntGraph} such as a {@link CsrGraph}. Works on
+ * int ids with a flat array stack, so no objects are allocated per visited vertex.
+ *
+ * The visited state is kept between runs so one instance can be reused for many queries over
+ * the same graph. Call {@link #reset()} before starting an unrelated query; with the default
+ * {@link EpochVisited} state the reset takes constant time, so repeated queries allocate nothing.
+ * As with {@link Traversal}, vertices are marked when discovered, and a run stopped early
+ * unmarks the vertices it discovered but did not reach, so a later run still reaches them.
+ */
+public class CsrTraversal {
+  private final String name;
+  private final IntGraph graph;
+  private final VisitedSet visited;
+  private final int[] stack;
+
+  /**
+   * Creates a traversal over the given graph with epoch-stamped visited state.
+   *
+   * @param graph the graph to traverse
+   */
+  public CsrTraversal(IntGraph graph) {
+    this(graph, new EpochVisited(graph.vertexCount()));
+  }
+
+  /**
+   * Creates a named traversal with epoch-stamped visited state. The name labels its counters
+   * when instrumentation is on.
+   *
+   * @param name the operation name reported to {@link TraversalMetrics}
+   * @param graph the graph to traverse
+   */
+  public CsrTraversal(String name, IntGraph graph) {
+    this(name, graph, new EpochVisited(graph.vertexCount()));
+  }
+
+  /**
+   * Creates a traversal over the given graph that tracks visited vertices in the given set.
+   *
+   * @param graph the graph to traverse
+   * @param visited the visited state, with a capacity of at least the graph's vertex count
+   */
+  public CsrTraversal(IntGraph graph, VisitedSet visited) {
+    this("traversal", graph, visited);
+  }
+
+  /**
+   * Creates a named traversal, whose name labels its counters when instrumentation is on.
+   *
+   * @param name the operation name reported to {@link TraversalMetrics}
+   * @param graph the graph to traverse
+   * @param visited the visited state, with a capacity of at least the graph's vertex count
+   */
+  public CsrTraversal(String name, IntGraph graph, VisitedSet visited) {
+    if (visited.capacity() < graph.vertexCount()) {
+      throw new IllegalArgumentException("Visited set capacity " + visited.capacity()
+          + " is smaller than vertex count " + graph.vertexCount());
+    }
+    this.name = name;
+    this.graph = graph;
+    this.visited = visited;
+    // Every vertex is pushed at most once, so the stack never outgrows the vertex count
+    this.stack = new int[graph.vertexCount()];
+  }
+
+  /**
+   * Visits every vertex reachable from the given start vertex that has not already been visited
+   * by this traversal, calling the visitor once per vertex. If the visitor returns false the
+   * traversal stops immediately.
+   *
+   * @param start the starting vertex id, ignored if negative
+   * @param visitor called for each newly visited vertex; returns false to stop the traversal
+   * @return true if the traversal ran to completion, false if the visitor stopped it early
+   */
+  public boolean run(int start, IntPredicate visitor) {
+    if (start < 0 || !visited.mark(start)) {
+      return true;
+    }
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    long visitedCount = 0;
+    long edges = 0;
+    long pushed = 0;
+    int maxFrontier = 1;
+    boolean completed = true;
+    int size = 0;
+    stack[size++] = start;
+    while (size > 0) {
+      int current = stack[--size];
+      visitedCount++;
+      if (!visitor.test(current)) {
+        completed = false;
+        while (size > 0) {
+          visited.unmark(stack[--size]);
+        }
+        break;
+      }
+      int first = graph.firstEdge(current);
+      int end = graph.endEdge(current);
+      edges += end - first;
+      for (int e = first; e < end; e++) {
+        int neighbor = graph.target(e);
+        if (visited.mark(neighbor)) {
+          stack[size++] = neighbor;
+          pushed++;
+        }
+      }
+      maxFrontier = Math.max(maxFrontier, size);
+    }
+    if (recorder != null) {
+      recorder.record(new TraversalStats(name, visitedCount, edges, edges - pushed, maxFrontier,
+          System.nanoTime() - startNanos));
+    }
+    return completed;
+  }
+
+  /**
+   * Returns the graph this traversal walks.
+   *
+   * @return the graph
+   */
+  public IntGraph graph() {
+    return graph;
+  }
+
+  /**
+   * Returns whether a vertex has been visited since the last reset.
+   *
+   * @param vertex the vertex id
+   * @return true if the vertex has been visited
+   */
+  public boolean isVisited(int vertex) {
+    return visited.isMarked(vertex);
+  }
+
+  /**
+   * Forgets every visited vertex so the traversal can be reused for a new query.
+   */
+  public void reset() {
+    visited.clear();
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ * Per-vertex metadata of an {@link IntGraph}: whether each vertex has an edge to itself, and
+ * its out-degree and in-degree. Everything is computed in one pass over the edges, so asking
+ * whether a vertex loops to itself takes constant time however many neighbors it has.
+ *
+ * The same data answers degree-distribution questions through power-of-two histograms, where
+ * bucket 0 counts vertices of degree 0 and bucket {@code b} counts degrees from
+ * {@code 2^(b-1)} to {@code 2^b - 1}.
+ *
+ * Instances are immutable. A {@link CsrGraph} never changes either, so the stats of a graph
+ * stay valid for its lifetime; {@link CsrGraph#stats()} builds them once on first use.
+ */
+public final class DegreeStats {
+  private final int[] outDegrees;
+  private final int[] inDegrees;
+  private final long[] selfLoops;
+  private final int selfLoopCount;
+  private final int maxOutDegree;
+  private final int maxInDegree;
+  private final long edgeCount;
+
+  private DegreeStats(int[] outDegrees, int[] inDegrees, long[] selfLoops, int selfLoopCount, long edgeCount) {
+    this.outDegrees = outDegrees;
+    this.inDegrees = inDegrees;
+    this.selfLoops = selfLoops;
+    this.selfLoopCount = selfLoopCount;
+    this.edgeCount = edgeCount;
+    this.maxOutDegree = max(outDegrees);
+    this.maxInDegree = max(inDegrees);
+  }
+
+  /**
+   * Computes the stats of a graph.
+   *
+   * @param graph the graph
+   * @return the stats
+   */
+  public static DegreeStats of(IntGraph graph) {
+    int n = graph.vertexCount();
+    int[] outDegrees = new int[n];
+    int[] inDegrees = new int[n];
+    long[] selfLoops = new long[(n + 63) >>> 6];
+    int selfLoopCount = 0;
+    long edgeCount = 0;
+    for (int v = 0; v < n; v++) {
+      int first = graph.firstEdge(v);
+      int end = graph.endEdge(v);
+      outDegrees[v] = end - first;
+      edgeCount += end - first;
+      for (int e = first; e < end; e++) {
+        int w = graph.target(e);
+        inDegrees[w]++;
+        if (w == v && (selfLoops[v >>> 6] & (1L << v)) == 0) {
+          selfLoops[v >>> 6] |= 1L << v;
+          selfLoopCount++;
+        }
+      }
+    }
+    return new DegreeStats(outDegrees, inDegrees, selfLoops, selfLoopCount, edgeCount);
+  }
+
+  private static int max(int[] values) {
+    int max = 0;
+    for (int value : values) {
+      max = Math.max(max, value);
+    }
+    return max;
+  }
+
+  /**
+   * Returns the number of vertices covered.
+   *
+   * @return the vertex count
+   */
+  public int vertexCount() {
+    return outDegrees.length;
+  }
+
+  /**
+   * Determines whether a vertex has an edge to itself.
+   *
+   * @param vertex the vertex id
+   * @return true if the vertex is one of its own neighbors
+   */
+  public boolean hasSelfLoop(int vertex) {
+    return (selfLoops[vertex >>> 6] & (1L << vertex)) != 0;
+  }
+
+  /**
+   * Returns how many vertices have an edge to themselves.
+   *
+   * @return the number of self-looping vertices
+   */
+  public int selfLoopCount() {
+    return selfLoopCount;
+  }
+
+  /**
+   * Returns the number of edges leaving a vertex, counting duplicates.
+   *
+   * @param vertex the vertex id
+   * @return the out-degree
+   */
+  public int outDegree(int vertex) {
+    return outDegrees[vertex];
+  }
+
+  /**
+   * Returns the number of edges entering a vertex, counting duplicates.
+   *
+   * @param vertex the vertex id
+   * @return the in-degree
+   */
+  public int inDegree(int vertex) {
+    return inDegrees[vertex];
+  }
+
+  /**
+   * Returns the largest out-degree of any vertex.
+   *
+   * @return the maximum out-degree, or 0 for an empty graph
+   */
+  public int maxOutDegree() {
+    return maxOutDegree;
+  }
+
+  /**
+   * Returns the largest in-degree of any vertex.
+   *
+   * @return the maximum in-degree, or 0 for an empty graph
+   */
+  public int maxInDegree() {
+    return maxInDegree;
+  }
+
+  /**
+   * Returns the average out-degree, which is also the average in-degree.
+   *
+   * @return the average degree, or 0 for an empty graph
+   */
+  public double averageDegree() {
+    return outDegrees.length == 0 ? 0 : (double) edgeCount / outDegrees.length;
+  }
+
+  /**
+   * Returns the out-degree distribution as a power-of-two histogram.
+   *
+   * @return the number of vertices in each bucket, up to the bucket of the maximum out-degree
+   */
+  public long[] outDegreeHistogram() {
+    return histogram(outDegrees, maxOutDegree);
+  }
+
+  /**
+   * Returns the in-degree distribution as a power-of-two histogram.
+   *
+   * @return the number of vertices in each bucket, up to the bucket of the maximum in-degree
+   */
+  public long[] inDegreeHistogram() {
+    return histogram(inDegrees, maxInDegree);
+  }
+
+  /**
+   * Returns how many vertices have at least the given out-degree.
+   *
+   * @param degree the minimum out-degree
+   * @return the number of vertices
+   */
+  public int countOutDegreeAtLeast(int degree) {
+    int count = 0;
+    for (int d : outDegrees) {
+      if (d >= degree) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static long[] histogram(int[] degrees, int max) {
+    long[] buckets = new long[bucket(max) + 1];
+    for (int degree : degrees) {
+      buckets[bucket(degree)]++;
+    }
+    return buckets;
+  }
+
+  private static int bucket(int degree) {
+    return 32 - Integer.numberOfLeadingZeros(degree);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("DegreeStats{vertices=%d, edges=%d, selfLoops=%d, avgDegree=%.2f, maxOut=%d, maxIn=%d}",
+        vertexCount(), edgeCount, selfLoopCount, averageDegree(), maxOutDegree, maxInDegree);
+  }
+}
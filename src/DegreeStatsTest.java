@@ -0,0 +1,34 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DegreeStatsTest {
+
+  @Test
+  public void testSelfLoopsAndDegrees() {
+    Map<Integer, List<Integer>> map = new LinkedHashMap<>();
+    map.put(0, new ArrayList<>(Arrays.asList(0, 1, 2, 0)));
+    map.put(1, new ArrayList<>(Arrays.asList(2)));
+    map.put(2, new ArrayList<>(Arrays.asList(2)));
+    map.put(3, new ArrayList<>());
+    DegreeStats stats = CsrGraph.compile(map).stats();
+
+    assertTrue(stats.hasSelfLoop(0));
+    assertFalse(stats.hasSelfLoop(1));
+    assertTrue(stats.hasSelfLoop(2));
+    assertFalse(stats.hasSelfLoop(3));
+    assertEquals(2, stats.selfLoopCount());
+    assertEquals(4, stats.outDegree(0));
+    assertEquals(3, stats.inDegree(2));
+    assertEquals(0, stats.inDegree(3));
+    assertEquals(4, stats.maxOutDegree());
+    assertEquals(1.5, stats.averageDegree(), 1e-9);
+    assertArrayEquals(new long[] {1, 2, 0, 1}, stats.outDegreeHistogram());
+    assertEquals(3, stats.countOutDegreeAtLeast(1));
+  }
+}
@@ -0,0 +1,259 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming reader for edge-list files with one {@code from,to} or {@code from<TAB>to} pair per
+ * line. A line with a single field adds a vertex with no edges; blank lines and lines starting
+ * with {@code #} are skipped.
+ *
+ * The file is cut into splits at line boundaries and the splits are parsed in parallel, each
+ * reading fixed-size chunks through a direct buffer. Vertex keys are interned into dense ids as
+ * they are read and edges are kept as pairs of ints, so the raw text is never held in memory
+ * and the memory used is bounded by the size of the resulting graph. Ids are assigned in
+ * whatever order the splits reach each key, so they can differ between runs; the edges of each
+ * vertex keep their file order.
+ */
+public class EdgeListReader {
+  private static final int CHUNK_SIZE = 1 << 20;
+
+  /**
+   * Growable list of edges as pairs of vertex ids.
+   */
+  private static class EdgeBuffer {
+    int[] from = new int[1024];
+    int[] to = new int[1024];
+    int size;
+
+    void add(int source, int target) {
+      if (size == from.length) {
+        from = Arrays.copyOf(from, size * 2);
+        to = Arrays.copyOf(to, size * 2);
+      }
+      from[size] = source;
+      to[size] = target;
+      size++;
+    }
+  }
+
+  /**
+   * Reads an edge-list file into a compiled graph whose payloads are the vertex keys, using one
+   * split per available processor.
+   *
+   * @param path the file to read
+   * @return the compiled graph
+   * @throws IOException if the file cannot be read
+   */
+  public static CsrGraph<String> read(Path path) throws IOException {
+    return read(path, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Reads an edge-list file into a compiled graph whose payloads are the vertex keys.
+   *
+   * @param path the file to read
+   * @param splits the number of splits to parse in parallel
+   * @return the compiled graph
+   * @throws IOException if the file cannot be read
+   */
+  public static CsrGraph<String> read(Path path, int splits) throws IOException {
+    Map<String, Integer> ids = new ConcurrentHashMap<>();
+    AtomicInteger nextId = new AtomicInteger();
+    List<EdgeBuffer> buffers;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int count = (int) Math.max(1, Math.min(splits, size));
+      try {
+        buffers = IntStream.range(0, count).parallel()
+            .mapToObj(i -> parseSplit(channel, size * i / count, size * (i + 1) / count, ids, nextId))
+            .collect(Collectors.toList());
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
+    int vertexCount = nextId.get();
+    Object[] payloads = new Object[vertexCount];
+    for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+      payloads[entry.getValue()] = entry.getKey();
+    }
+
+    // Counting sort of the edges by source; splits are visited in file order so each vertex
+    // keeps its edges in the order they appear in the file
+    int[] offsets = new int[vertexCount + 1];
+    int edgeCount = 0;
+    for (EdgeBuffer buffer : buffers) {
+      for (int i = 0; i < buffer.size; i++) {
+        offsets[buffer.from[i] + 1]++;
+      }
+      edgeCount += buffer.size;
+    }
+    for (int v = 0; v < vertexCount; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    int[] fill = Arrays.copyOf(offsets, vertexCount);
+    int[] targets = new int[edgeCount];
+    for (EdgeBuffer buffer : buffers) {
+      for (int i = 0; i < buffer.size; i++) {
+        targets[fill[buffer.from[i]]++] = buffer.to[i];
+      }
+    }
+    return new CsrGraph<>(offsets, targets, payloads);
+  }
+
+  /**
+   * Reads an edge-list file into the map form taken by {@link Build#unreachable(Map, Object)}.
+   * Every vertex, including those that only appear as targets, becomes a key.
+   *
+   * @param path the file to read
+   * @return the graph as a map of vertices to neighbors
+   * @throws IOException if the file cannot be read
+   */
+  public static Map<String, List<String>> readMap(Path path) throws IOException {
+    CsrGraph<String> graph = read(path);
+    Map<String, List<String>> map = new HashMap<>(graph.vertexCount() * 2);
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      List<String> neighbors = new ArrayList<>(graph.degree(v));
+      for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+        neighbors.add(graph.payload(graph.target(e)));
+      }
+      map.put(graph.payload(v), neighbors);
+    }
+    return map;
+  }
+
+  /**
+   * Reads an edge-list file of airport codes into linked airports. Each airport's name is set
+   * to its code.
+   *
+   * @param path the file to read
+   * @return the airports keyed by airport code
+   * @throws IOException if the file cannot be read
+   */
+  public static Map<String, Airport> readAirports(Path path) throws IOException {
+    CsrGraph<String> graph = read(path);
+    Airport[] airports = new Airport[graph.vertexCount()];
+    Map<String, Airport> byCode = new HashMap<>(graph.vertexCount() * 2);
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      String code = graph.payload(v);
+      airports[v] = new Airport(code, code, new ArrayList<>(graph.degree(v)));
+      byCode.put(code, airports[v]);
+    }
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+        airports[v].getOutboundFlights().add(airports[graph.target(e)]);
+      }
+    }
+    return byCode;
+  }
+
+  /**
+   * Parses every line that starts within the given byte range. A line that starts inside the
+   * range is read to its end even if that is past the range.
+   */
+  private static EdgeBuffer parseSplit(FileChannel channel, long start, long end,
+                                       Map<String, Integer> ids, AtomicInteger nextId) {
+    EdgeBuffer edges = new EdgeBuffer();
+    ByteBuffer chunk = ByteBuffer.allocateDirect((int) Math.min(CHUNK_SIZE, Math.max(4096, end - start + 1)));
+    byte[] line = new byte[256];
+    int lineLength = 0;
+    // A split that does not start the file begins after the first newline at or past start - 1,
+    // since the line containing that byte belongs to the previous split
+    boolean skipping = start > 0;
+    long position = skipping ? start - 1 : 0;
+    long lineStart = position;
+    try {
+      while (true) {
+        chunk.clear();
+        int read = channel.read(chunk, position);
+        if (read <= 0) {
+          break;
+        }
+        chunk.flip();
+        for (int i = 0; i < read; i++) {
+          byte b = chunk.get(i);
+          if (b == '\n') {
+            if (!skipping) {
+              parseLine(line, lineLength, edges, ids, nextId);
+            }
+            skipping = false;
+            lineLength = 0;
+            lineStart = position + i + 1;
+            if (lineStart >= end) {
+              return edges;
+            }
+          } else if (!skipping) {
+            if (lineLength == line.length) {
+              line = Arrays.copyOf(line, lineLength * 2);
+            }
+            line[lineLength++] = b;
+          }
+        }
+        position += read;
+      }
+      if (!skipping && lineStart < end) {
+        parseLine(line, lineLength, edges, ids, nextId);
+      }
+      return edges;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void parseLine(byte[] line, int length, EdgeBuffer edges,
+                                Map<String, Integer> ids, AtomicInteger nextId) {
+    if (length > 0 && line[length - 1] == '\r') {
+      length--;
+    }
+    if (length == 0 || line[0] == '#') {
+      return;
+    }
+    int separator = -1;
+    for (int i = 0; i < length; i++) {
+      if (line[i] == ',' || line[i] == '\t') {
+        separator = i;
+        break;
+      }
+    }
+    if (separator < 0) {
+      intern(line, 0, length, ids, nextId);
+      return;
+    }
+    int from = intern(line, 0, separator, ids, nextId);
+    int to = intern(line, separator + 1, length, ids, nextId);
+    if (from >= 0 && to >= 0) {
+      edges.add(from, to);
+    }
+  }
+
+  /**
+   * Returns the id of the key between the given offsets, ignoring surrounding spaces, or -1 if
+   * the key is empty.
+   */
+  private static int intern(byte[] line, int from, int to, Map<String, Integer> ids, AtomicInteger nextId) {
+    while (from < to && line[from] == ' ') {
+      from++;
+    }
+    while (to > from && line[to - 1] == ' ') {
+      to--;
+    }
+    if (from == to) {
+      return -1;
+    }
+    String key = new String(line, from, to - from, StandardCharsets.UTF_8);
+    return ids.computeIfAbsent(key, k -> nextId.getAndIncrement());
+  }
+}
@@ -0,0 +1,79 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class EdgeListReaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path write(String contents) throws IOException {
+    Path file = folder.newFile().toPath();
+    Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void testReadMap_MixedSeparators() throws IOException {
+    Path file = write("# routes\nA,B\r\nB\tC\n\nC, A\nD\n");
+    Map<String, List<String>> expected = new HashMap<>();
+    expected.put("A", Arrays.asList("B"));
+    expected.put("B", Arrays.asList("C"));
+    expected.put("C", Arrays.asList("A"));
+    expected.put("D", new ArrayList<>());
+    assertEquals(expected, EdgeListReader.readMap(file));
+  }
+
+  @Test
+  public void testRead_SplitsAgreeWithSingleSplit() throws IOException {
+    StringBuilder contents = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      contents.append("v").append(i).append(',').append("v").append((i * 7 + 3) % 500).append('\n');
+      contents.append("v").append(i).append('\t').append("v").append((i + 1) % 500).append('\n');
+    }
+    // No trailing newline on the last line
+    contents.append("v0,last");
+    Path file = write(contents.toString());
+
+    CsrGraph<String> single = EdgeListReader.read(file, 1);
+    for (int splits : new int[] {2, 3, 8, 64}) {
+      CsrGraph<String> parallel = EdgeListReader.read(file, splits);
+      assertEquals(single.vertexCount(), parallel.vertexCount());
+      assertEquals(single.edgeCount(), parallel.edgeCount());
+      for (int v = 0; v < single.vertexCount(); v++) {
+        int p = parallel.idOf(single.payload(v));
+        List<String> expected = new ArrayList<>();
+        for (int e = single.firstEdge(v); e < single.endEdge(v); e++) {
+          expected.add(single.payload(single.target(e)));
+        }
+        List<String> actual = new ArrayList<>();
+        for (int e = parallel.firstEdge(p); e < parallel.endEdge(p); e++) {
+          actual.add(parallel.payload(parallel.target(e)));
+        }
+        assertEquals(expected, actual);
+      }
+    }
+    assertEquals(1001, single.edgeCount());
+  }
+
+  @Test
+  public void testReadAirports_Linked() throws IOException {
+    Path file = write("SEA,DEN\nDEN,MIA\nMIA,SEA\nLAS,SEA\n");
+    Map<String, Airport> airports = EdgeListReader.readAirports(file);
+    assertTrue(Build.canReach(airports.get("LAS"), airports.get("MIA")));
+    assertFalse(Build.canReach(airports.get("SEA"), airports.get("LAS")));
+    assertEquals(new HashSet<>(Arrays.asList("SEA", "DEN", "MIA", "LAS")), airports.keySet());
+  }
+}
@@ -0,0 +1,57 @@
+import java.util.Arrays;
+
+/**
+ * Visited-state that stamps each vertex with the current epoch instead of setting a flag.
+ * Clearing just advances the epoch, so resetting between queries takes constant time.
+ * The stamps are only wiped when the epoch counter wraps around.
+ */
+public class EpochVisited implements VisitedSet {
+  private final int[] stamps;
+  private int epoch = 1;
+
+  /**
+   * Creates a visited set able to track the given number of vertices.
+   *
+   * @param capacity the number of vertex ids
+   */
+  public EpochVisited(int capacity) {
+    this.stamps = new int[capacity];
+  }
+
+  @Override
+  public boolean mark(int id) {
+    if (stamps[id] == epoch) {
+      return false;
+    }
+    stamps[id] = epoch;
+    return true;
+  }
+
+  @Override
+  public boolean isMarked(int id) {
+    return stamps[id] == epoch;
+  }
+
+  @Override
+  public void unmark(int id) {
+    // Epoch 0 is never current
+    if (stamps[id] == epoch) {
+      stamps[id] = 0;
+    }
+  }
+
+  @Override
+  public void clear() {
+    epoch++;
+    if (epoch == 0) {
+      // Old stamps could collide with reused epochs after wrapping, so wipe them once
+      Arrays.fill(stamps, 0);
+      epoch = 1;
+    }
+  }
+
+  @Override
+  public int capacity() {
+    return stamps.length;
+  }
+}
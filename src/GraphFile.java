@@ -0,0 +1,134 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+/**
+ * Compact binary file format for route networks, designed to be memory-mapped and traversed in
+ * place. All values are big-endian. The file is laid out as:
+ *
+ * <pre>
+ *   header        8 ints: magic, version, vertex count, edge count, string pool size, 3 reserved
+ *   offsets       vertex count + 1 ints, as in {@link CsrGraph}
+ *   targets       edge count ints
+ *   id table      4 ints per vertex: code offset, code length, name offset, name length
+ *   string pool   UTF-8 bytes of every airport code and name
+ * </pre>
+ *
+ * Loading maps the file with {@link FileChannel#map} and wraps it in a {@link MappedGraph}
+ * without copying or decoding anything, so startup time and heap use do not grow with the
+ * size of the network. A single mapping is limited to 2 GB.
+ */
+public class GraphFile {
+  static final int MAGIC = 0x44465347; // "DFSG"
+  static final int VERSION = 1;
+  static final int HEADER_INTS = 8;
+  static final int ID_TABLE_INTS = 4;
+
+  /**
+   * Writes a compiled airport network to a file.
+   *
+   * @param graph the compiled network, with airports as payloads
+   * @param path the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(CsrGraph<Airport> graph, Path path) throws IOException {
+    write(graph, v -> graph.payload(v).getAirportCode(), v -> graph.payload(v).getName(), path);
+  }
+
+  /**
+   * Writes a graph to a file, labelling each vertex with a code and a name.
+   *
+   * @param graph the graph
+   * @param codes returns the code of a vertex
+   * @param names returns the name of a vertex
+   * @param path the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(IntGraph graph, IntFunction<String> codes, IntFunction<String> names, Path path)
+      throws IOException {
+    int n = graph.vertexCount();
+    byte[][] strings = new byte[2 * n][];
+    long poolSize = 0;
+    for (int v = 0; v < n; v++) {
+      strings[2 * v] = codes.apply(v).getBytes(StandardCharsets.UTF_8);
+      strings[2 * v + 1] = names.apply(v).getBytes(StandardCharsets.UTF_8);
+      poolSize += strings[2 * v].length + strings[2 * v + 1].length;
+    }
+    long fileSize = 4L * (HEADER_INTS + n + 1 + graph.edgeCount() + ID_TABLE_INTS * n) + poolSize;
+    if (fileSize > Integer.MAX_VALUE) {
+      throw new IOException("Graph needs " + fileSize + " bytes, more than one mapping can hold");
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(n);
+      out.writeInt(graph.edgeCount());
+      out.writeInt((int) poolSize);
+      for (int i = 5; i < HEADER_INTS; i++) {
+        out.writeInt(0);
+      }
+      for (int v = 0; v < n; v++) {
+        out.writeInt(graph.firstEdge(v));
+      }
+      out.writeInt(graph.edgeCount());
+      for (int v = 0; v < n; v++) {
+        for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+          out.writeInt(graph.target(e));
+        }
+      }
+      int poolOffset = 0;
+      for (byte[] string : strings) {
+        out.writeInt(poolOffset);
+        out.writeInt(string.length);
+        poolOffset += string.length;
+      }
+      for (byte[] string : strings) {
+        out.write(string);
+      }
+    }
+  }
+
+  /**
+   * Memory-maps a graph file for read-only traversal.
+   *
+   * @param path the file to map
+   * @return the mapped graph
+   * @throws IOException if the file cannot be read or is not a valid graph file
+   */
+  public static MappedGraph map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Graph file " + path + " is larger than one mapping can hold");
+      }
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedGraph(validate(buffer, path));
+    }
+  }
+
+  private static ByteBuffer validate(ByteBuffer buffer, Path path) throws IOException {
+    if (buffer.capacity() < 4 * HEADER_INTS || buffer.getInt(0) != MAGIC) {
+      throw new IOException(path + " is not a graph file");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+    }
+    long n = buffer.getInt(8);
+    long edges = buffer.getInt(12);
+    long poolSize = buffer.getInt(16);
+    long expected = 4 * (HEADER_INTS + n + 1 + edges + ID_TABLE_INTS * n) + poolSize;
+    if (n < 0 || edges < 0 || poolSize < 0 || buffer.capacity() != expected) {
+      throw new IOException(path + " is truncated or corrupt");
+    }
+    return buffer;
+  }
+}
@@ -0,0 +1,57 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GraphFileTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private List<Airport> buildNetwork() {
+    Airport sea = new Airport("Seattle-Tacoma International Airport", "SEA", new ArrayList<>());
+    Airport den = new Airport("Denver International Airport", "DEN", new ArrayList<>());
+    Airport mia = new Airport("Miami International Airport", "MIA", new ArrayList<>());
+    Airport las = new Airport("McCarran International Airport", "LAS", new ArrayList<>());
+    sea.getOutboundFlights().add(den);
+    den.getOutboundFlights().add(mia);
+    mia.getOutboundFlights().add(sea);
+    las.getOutboundFlights().add(sea);
+    return Arrays.asList(sea, den, mia, las);
+  }
+
+  @Test
+  public void testRoundTrip_MatchesCompiledGraph() throws IOException {
+    List<Airport> network = buildNetwork();
+    CsrGraph<Airport> graph = CsrGraph.compile(network, Airport::getOutboundFlights, a -> a);
+    Path file = folder.getRoot().toPath().resolve("network.graph");
+    GraphFile.write(graph, file);
+
+    MappedGraph mapped = GraphFile.map(file);
+    assertEquals(graph.vertexCount(), mapped.vertexCount());
+    assertEquals(graph.edgeCount(), mapped.edgeCount());
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      assertEquals(graph.payload(v).getAirportCode(), mapped.getAirportCode(v));
+      assertEquals(graph.payload(v).getName(), mapped.getName(v));
+      for (int to = 0; to < graph.vertexCount(); to++) {
+        assertEquals(Build.canReach(graph, v, to), Build.canReach(mapped, v, to));
+      }
+    }
+    assertArrayEquals(new int[] {mapped.idOf("LAS")}, Build.unreachableIds(mapped, mapped.idOf("SEA")));
+    assertEquals(-1, mapped.idOf("ATL"));
+  }
+
+  @Test(expected = IOException.class)
+  public void testMap_RejectsOtherFiles() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("not-a-graph.txt");
+    Files.write(file, "SEA,DEN\nDEN,MIA\n".getBytes());
+    GraphFile.map(file);
+  }
+}
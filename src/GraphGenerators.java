@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic graph generators for benchmarking. Each generator produces a plain adjacency array,
+ * {@code adjacency[v]} holding the targets of vertex v, which can then be turned into any of the
+ * graph representations the {@link Build} methods take.
+ */
+public class GraphGenerators {
+
+  /**
+   * The graph shapes the generators can produce.
+   */
+  public enum Shape {
+    /** Every vertex has a few edges to uniformly random vertices. */
+    RANDOM,
+    /** Preferential attachment, giving a few hubs with very large degree. */
+    POWER_LAW,
+    /** A single path through every vertex. */
+    CHAIN,
+    /** Fully connected groups of vertices, each group linked to the next. */
+    CLIQUE,
+    /** Random edges with a self-loop on every other vertex. */
+    SELF_LOOPS
+  }
+
+  private static final int AVERAGE_DEGREE = 4;
+  private static final int CLIQUE_SIZE = 64;
+
+  /**
+   * Generates a graph of the given shape and size.
+   *
+   * @param shape the graph shape
+   * @param vertexCount the number of vertices
+   * @param seed the random seed, so runs are repeatable
+   * @return the adjacency array
+   */
+  public static int[][] generate(Shape shape, int vertexCount, long seed) {
+    Random random = new Random(seed);
+    switch (shape) {
+      case RANDOM:
+        return random(vertexCount, random, false);
+      case POWER_LAW:
+        return powerLaw(vertexCount, random);
+      case CHAIN:
+        return chain(vertexCount);
+      case CLIQUE:
+        return cliques(vertexCount);
+      case SELF_LOOPS:
+        return random(vertexCount, random, true);
+      default:
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+  }
+
+  private static int[][] random(int n, Random random, boolean selfLoops) {
+    int[][] adjacency = new int[n][];
+    for (int v = 0; v < n; v++) {
+      boolean loop = selfLoops && v % 2 == 0;
+      int[] targets = new int[AVERAGE_DEGREE + (loop ? 1 : 0)];
+      for (int i = 0; i < AVERAGE_DEGREE; i++) {
+        targets[i] = random.nextInt(n);
+      }
+      if (loop) {
+        targets[AVERAGE_DEGREE] = v;
+      }
+      adjacency[v] = targets;
+    }
+    return adjacency;
+  }
+
+  private static int[][] powerLaw(int n, Random random) {
+    // Picking a random endpoint of an existing edge chooses vertices in proportion to degree
+    int[] endpoints = new int[2 * AVERAGE_DEGREE * n + 2];
+    int endpointCount = 0;
+    int[][] adjacency = new int[n][];
+    for (int v = 0; v < n; v++) {
+      int degree = Math.min(v, AVERAGE_DEGREE);
+      int[] targets = new int[degree];
+      for (int i = 0; i < degree; i++) {
+        targets[i] = endpointCount == 0 ? 0 : endpoints[random.nextInt(endpointCount)];
+      }
+      for (int target : targets) {
+        endpoints[endpointCount++] = target;
+        endpoints[endpointCount++] = v;
+      }
+      adjacency[v] = targets;
+    }
+    // Reverse half the edges so hubs have both large in- and out-degree
+    for (int v = 0; v < n; v++) {
+      if (v % 2 == 1 && adjacency[v].length > 0) {
+        int hub = adjacency[v][0];
+        adjacency[hub] = Arrays.copyOf(adjacency[hub], adjacency[hub].length + 1);
+        adjacency[hub][adjacency[hub].length - 1] = v;
+      }
+    }
+    return adjacency;
+  }
+
+  private static int[][] chain(int n) {
+    int[][] adjacency = new int[n][];
+    for (int v = 0; v < n; v++) {
+      adjacency[v] = v + 1 < n ? new int[] {v + 1} : new int[0];
+    }
+    return adjacency;
+  }
+
+  private static int[][] cliques(int n) {
+    int[][] adjacency = new int[n][];
+    for (int v = 0; v < n; v++) {
+      int groupStart = v - v % CLIQUE_SIZE;
+      int groupEnd = Math.min(n, groupStart + CLIQUE_SIZE);
+      boolean linksOut = v == groupEnd - 1 && groupEnd < n;
+      int[] targets = new int[groupEnd - groupStart - 1 + (linksOut ? 1 : 0)];
+      int i = 0;
+      for (int u = groupStart; u < groupEnd; u++) {
+        if (u != v) {
+          targets[i++] = u;
+        }
+      }
+      if (linksOut) {
+        targets[i] = groupEnd;
+      }
+      adjacency[v] = targets;
+    }
+    return adjacency;
+  }
+
+  /**
+   * Builds linked vertices holding integer values.
+   *
+   * @param adjacency the adjacency array
+   * @return the vertices, indexed by vertex number
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static Vertex<Integer>[] toIntegerVertices(int[][] adjacency) {
+    Vertex<Integer>[] vertices = new Vertex[adjacency.length];
+    for (int v = 0; v < adjacency.length; v++) {
+      vertices[v] = new Vertex<>(v);
+    }
+    link(vertices, adjacency);
+    return vertices;
+  }
+
+  /**
+   * Builds linked vertices holding words whose lengths vary from 1 to 16 characters.
+   *
+   * @param adjacency the adjacency array
+   * @param seed the random seed for the word lengths
+   * @return the vertices, indexed by vertex number
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static Vertex<String>[] toWordVertices(int[][] adjacency, long seed) {
+    Random random = new Random(seed);
+    Vertex<String>[] vertices = new Vertex[adjacency.length];
+    char[] letters = new char[16];
+    for (int v = 0; v < adjacency.length; v++) {
+      int length = 1 + random.nextInt(letters.length);
+      for (int i = 0; i < length; i++) {
+        letters[i] = (char) ('a' + random.nextInt(26));
+      }
+      vertices[v] = new Vertex<>(new String(letters, 0, length));
+    }
+    link(vertices, adjacency);
+    return vertices;
+  }
+
+  private static <T> void link(Vertex<T>[] vertices, int[][] adjacency) {
+    for (int v = 0; v < adjacency.length; v++) {
+      List<Vertex<T>> neighbors = new ArrayList<>(adjacency[v].length);
+      for (int target : adjacency[v]) {
+        neighbors.add(vertices[target]);
+      }
+      vertices[v].neighbors = neighbors;
+    }
+  }
+
+  /**
+   * Builds an airport network with generated codes.
+   *
+   * @param adjacency the adjacency array
+   * @return the airports, indexed by vertex number
+   */
+  public static Airport[] toAirports(int[][] adjacency) {
+    Airport[] airports = new Airport[adjacency.length];
+    for (int v = 0; v < adjacency.length; v++) {
+      String code = "A" + v;
+      airports[v] = new Airport("Airport " + code, code, new ArrayList<>(adjacency[v].length));
+    }
+    for (int v = 0; v < adjacency.length; v++) {
+      for (int target : adjacency[v]) {
+        airports[v].getOutboundFlights().add(airports[target]);
+      }
+    }
+    return airports;
+  }
+
+  /**
+   * Builds a map of each vertex number to its neighbors' numbers.
+   *
+   * @param adjacency the adjacency array
+   * @return the graph as a map
+   */
+  public static Map<Integer, List<Integer>> toMap(int[][] adjacency) {
+    Map<Integer, List<Integer>> graph = new HashMap<>(adjacency.length * 2);
+    for (int v = 0; v < adjacency.length; v++) {
+      List<Integer> neighbors = new ArrayList<>(adjacency[v].length);
+      for (int target : adjacency[v]) {
+        neighbors.add(target);
+      }
+      graph.put(v, neighbors);
+    }
+    return graph;
+  }
+}
@@ -0,0 +1,86 @@
+import java.util.Set;
+
+/**
+ * One immutable, versioned version of a graph that any number of threads can query at once
+ * without locking. The underlying {@link CsrGraph} never changes after it is built, so readers
+ * can neither see a half-applied update nor interfere with each other.
+ *
+ * Each reading thread reuses one traversal, so repeated queries on one thread do not allocate
+ * visited arrays. The traversal is shared by all snapshots and replaced when a thread moves on
+ * to a newer graph, so a pool thread holds on to at most one graph's traversal state rather
+ * than one per version it has ever queried.
+ *
+ * @param <T> the type of payloads stored in the graph
+ */
+public final class GraphSnapshot<T> {
+  private static final ThreadLocal<CsrTraversal> TRAVERSALS = new ThreadLocal<>();
+
+  private final CsrGraph<T> graph;
+  private final long version;
+
+  /**
+   * Creates a snapshot of a compiled graph.
+   *
+   * @param graph the compiled graph
+   * @param version the version number of this snapshot
+   */
+  public GraphSnapshot(CsrGraph<T> graph, long version) {
+    this.graph = graph;
+    this.version = version;
+  }
+
+  /**
+   * Returns the calling thread's traversal over this snapshot's graph, creating it if the
+   * thread last queried a different graph. The traversal is not reset.
+   *
+   * @return the calling thread's traversal
+   */
+  CsrTraversal traversal() {
+    CsrTraversal traversal = TRAVERSALS.get();
+    if (traversal == null || traversal.graph() != graph) {
+      traversal = new CsrTraversal(graph);
+      TRAVERSALS.set(traversal);
+    }
+    return traversal;
+  }
+
+  /**
+   * Returns the compiled graph of this snapshot.
+   *
+   * @return the graph
+   */
+  public CsrGraph<T> graph() {
+    return graph;
+  }
+
+  /**
+   * Returns the version number of this snapshot.
+   *
+   * @return the version
+   */
+  public long version() {
+    return version;
+  }
+
+  /**
+   * Determines whether the destination can be reached from the start in this snapshot.
+   * If the start and destination are the same, returns true.
+   *
+   * @param start the starting payload
+   * @param destination the destination payload
+   * @return true if the destination is reachable from the start, false otherwise
+   */
+  public boolean canReach(T start, T destination) {
+    return Build.canReach(traversal(), graph.idOf(start), graph.idOf(destination));
+  }
+
+  /**
+   * Returns the payloads in this snapshot that cannot be reached from the given start.
+   *
+   * @param starting the starting payload
+   * @return a set of payloads that cannot be reached from the start
+   */
+  public Set<T> unreachable(T starting) {
+    return Build.unreachable(graph, graph.idOf(starting));
+  }
+}
@@ -0,0 +1,59 @@
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Publishes successive {@link GraphSnapshot}s of a changing graph through an atomic reference.
+ * Readers call {@link #current()} and query the snapshot they got, lock-free, for as long as they
+ * like. Writers build the next version off to the side and swap it in with one atomic write, so
+ * readers never observe a partial update.
+ *
+ * Mutable sources such as {@link Vertex} and {@link Airport} must only be compiled by the thread
+ * that mutates them; {@link #update(Supplier)} serializes writers so two updates cannot race.
+ *
+ * @param <T> the type of payloads stored in the graph
+ */
+public class GraphSnapshots<T> {
+  private final AtomicReference<GraphSnapshot<T>> current;
+  private final Object writeLock = new Object();
+
+  /**
+   * Starts publishing with the given graph as version 0.
+   *
+   * @param initial the initial compiled graph
+   */
+  public GraphSnapshots(CsrGraph<T> initial) {
+    this.current = new AtomicReference<>(new GraphSnapshot<>(initial, 0));
+  }
+
+  /**
+   * Returns the latest published snapshot.
+   *
+   * @return the current snapshot
+   */
+  public GraphSnapshot<T> current() {
+    return current.get();
+  }
+
+  /**
+   * Publishes a new version of the graph.
+   *
+   * @param graph the new compiled graph
+   * @return the published snapshot
+   */
+  public GraphSnapshot<T> publish(CsrGraph<T> graph) {
+    return current.updateAndGet(previous -> new GraphSnapshot<>(graph, previous.version() + 1));
+  }
+
+  /**
+   * Builds and publishes a new version of the graph while holding the writer lock, so only one
+   * writer compiles at a time. Readers are never blocked.
+   *
+   * @param builder compiles the next version of the graph
+   * @return the published snapshot
+   */
+  public GraphSnapshot<T> update(Supplier<CsrGraph<T>> builder) {
+    synchronized (writeLock) {
+      return publish(builder.get());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class GraphSnapshotsTest {
+
+  @Test
+  public void testReadersSeeWholeVersions() throws InterruptedException {
+    Map<Integer, List<Integer>> map = CsrGraphTest.buildComplexMap();
+    GraphSnapshots<Integer> snapshots = new GraphSnapshots<>(CsrGraph.compile(map));
+    AtomicBoolean failed = new AtomicBoolean();
+    AtomicBoolean done = new AtomicBoolean();
+    List<Thread> readers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread reader = new Thread(() -> {
+        while (!done.get()) {
+          GraphSnapshot<Integer> snapshot = snapshots.current();
+          // Even versions have no edge 23 -> 67, odd versions do
+          boolean expected = snapshot.version() % 2 == 1;
+          if (snapshot.canReach(3, 67) != expected) {
+            failed.set(true);
+          }
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    for (int i = 0; i < 200; i++) {
+      snapshots.update(() -> {
+        if (map.get(23).isEmpty()) {
+          map.get(23).add(67);
+        } else {
+          map.get(23).clear();
+        }
+        return CsrGraph.compile(map);
+      });
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertFalse(failed.get());
+    assertEquals(200, snapshots.current().version());
+  }
+
+  @Test
+  public void testAlternatingVersionsOnOneThread() {
+    Map<Integer, List<Integer>> before = new LinkedHashMap<>();
+    before.put(1, new ArrayList<>(Arrays.asList(2)));
+    before.put(2, new ArrayList<>());
+    Map<Integer, List<Integer>> after = new LinkedHashMap<>(before);
+    after.put(2, new ArrayList<>(Arrays.asList(1)));
+    GraphSnapshot<Integer> v1 = new GraphSnapshot<>(CsrGraph.compile(before), 1);
+    GraphSnapshot<Integer> v2 = new GraphSnapshot<>(CsrGraph.compile(after), 2);
+    // The thread's traversal is swapped for each graph and must not leak visited state
+    for (int i = 0; i < 3; i++) {
+      assertFalse(v1.canReach(2, 1));
+      assertTrue(v2.canReach(2, 1));
+      assertTrue(v1.canReach(1, 2));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe {@link TraversalRecorder} that aggregates traversals per operation into
+ * power-of-two histograms of wall time and vertices visited, so percentiles can be read at the
+ * cost of a factor-of-two resolution.
+ */
+public class HistogramRecorder implements TraversalRecorder {
+  private final Map<String, Histograms> byOperation = new ConcurrentHashMap<>();
+
+  /**
+   * Histograms and totals for one operation.
+   */
+  private static class Histograms {
+    final LongAdder count = new LongAdder();
+    final LongAdder edgesScanned = new LongAdder();
+    final AtomicLongArray nanos = new AtomicLongArray(64);
+    final AtomicLongArray visited = new AtomicLongArray(64);
+  }
+
+  @Override
+  public void record(TraversalStats stats) {
+    Histograms histograms = byOperation.computeIfAbsent(stats.getOperation(), op -> new Histograms());
+    histograms.count.increment();
+    histograms.edgesScanned.add(stats.getEdgesScanned());
+    histograms.nanos.incrementAndGet(bucket(stats.getWallNanos()));
+    histograms.visited.incrementAndGet(bucket(stats.getVerticesVisited()));
+  }
+
+  private static int bucket(long value) {
+    return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+  }
+
+  /**
+   * Returns how many traversals of an operation have been recorded.
+   *
+   * @param operation the operation name
+   * @return the number of recorded traversals
+   */
+  public long count(String operation) {
+    Histograms histograms = byOperation.get(operation);
+    return histograms == null ? 0 : histograms.count.sum();
+  }
+
+  /**
+   * Returns the total number of edges scanned by an operation.
+   *
+   * @param operation the operation name
+   * @return the total edges scanned
+   */
+  public long edgesScanned(String operation) {
+    Histograms histograms = byOperation.get(operation);
+    return histograms == null ? 0 : histograms.edgesScanned.sum();
+  }
+
+  /**
+   * Returns an upper bound on the given percentile of an operation's wall time.
+   *
+   * @param operation the operation name
+   * @param fraction the percentile as a fraction, such as 0.99
+   * @return the percentile in nanoseconds, rounded up to a power of two, or 0 if nothing was recorded
+   */
+  public long wallNanosPercentile(String operation, double fraction) {
+    Histograms histograms = byOperation.get(operation);
+    return histograms == null ? 0 : percentile(histograms.nanos, fraction);
+  }
+
+  /**
+   * Returns an upper bound on the given percentile of the vertices an operation visited.
+   *
+   * @param operation the operation name
+   * @param fraction the percentile as a fraction, such as 0.99
+   * @return the percentile, rounded up to a power of two, or 0 if nothing was recorded
+   */
+  public long verticesVisitedPercentile(String operation, double fraction) {
+    Histograms histograms = byOperation.get(operation);
+    return histograms == null ? 0 : percentile(histograms.visited, fraction);
+  }
+
+  private static long percentile(AtomicLongArray buckets, double fraction) {
+    long total = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      total += buckets.get(i);
+    }
+    long rank = (long) Math.ceil(fraction * total);
+    long seen = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      seen += buckets.get(i);
+      if (seen >= rank && seen > 0) {
+        return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder out = new StringBuilder();
+    for (String operation : byOperation.keySet()) {
+      out.append(String.format("%s: count=%d p50=%dns p99=%dns visited.p99=%d%n", operation, count(operation),
+          wallNanosPercentile(operation, 0.5), wallNanosPercentile(operation, 0.99),
+          verticesVisitedPercentile(operation, 0.99)));
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,48 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverse-edge index over an airport network, mapping each airport to the airports that have
+ * a flight into it. Needed for searching backward from a destination, since
+ * {@link Airport#getOutboundFlights()} only records edges in the forward direction.
+ *
+ * The index is a snapshot: routes added to the network afterwards are not reflected in it.
+ */
+public class InboundFlights {
+  private final Map<Airport, List<Airport>> inbound = new IdentityHashMap<>();
+
+  /**
+   * Builds the reverse index for every airport reachable from the given airports.
+   *
+   * @param network the airports of the network; airports they fly to are indexed as well
+   * @return the reverse index
+   */
+  public static InboundFlights index(Iterable<Airport> network) {
+    InboundFlights index = new InboundFlights();
+    Traversal<Airport> traversal = new Traversal<>(Airport::getOutboundFlights);
+    for (Airport airport : network) {
+      traversal.run(airport, from -> {
+        for (Airport to : from.getOutboundFlights()) {
+          if (to != null) {
+            index.inbound.computeIfAbsent(to, a -> new ArrayList<>()).add(from);
+          }
+        }
+        return true;
+      });
+    }
+    return index;
+  }
+
+  /**
+   * Returns the airports that have a flight into the given airport.
+   *
+   * @param airport the airport
+   * @return the airports flying into it, or an empty list if there are none
+   */
+  public List<Airport> getInboundFlights(Airport airport) {
+    return inbound.getOrDefault(airport, Collections.emptyList());
+  }
+}
@@ -0,0 +1,265 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the set of airports reachable from each tracked source airport up to date as routes
+ * are added and removed, so reachability queries from those sources are a set lookup no matter
+ * how many updates have streamed in.
+ *
+ * For each source the structure keeps a tree recording, for every reachable airport, the
+ * flight it was first reached by, and it keeps an index of the flights into each airport from
+ * airports some source can reach. Adding a route only explores the airports that just became
+ * reachable. Removing a route that is not a tree flight changes nothing. Removing a tree flight
+ * only revisits the airports below it in the tree: those still entered by a flight from the
+ * rest of the tree are reattached along with everything below them, and the rest are dropped.
+ * In the worst case, a removal that cuts off most of a source's reachable set, the repair is
+ * proportional to that set and the flights into it, the same as recomputing it. Airports no
+ * tracked source can reach any more are unregistered.
+ *
+ * Route changes must go through {@link Airport#addRoute(Airport)} and
+ * {@link Airport#removeRoute(Airport)} to be seen.
+ */
+public class IncrementalReachability implements RouteListener {
+  /** For each source, every reachable airport mapped to the airport it is reached from. */
+  private final Map<Airport, Map<Airport, Airport>> trees = new IdentityHashMap<>();
+  /** How many tracked sources reach each airport; exactly these airports are listened to. */
+  private final Map<Airport, Integer> reachCount = new IdentityHashMap<>();
+  /** Flights into each airport from listened-to airports, one entry per flight. */
+  private final Map<Airport, List<Airport>> inbound = new IdentityHashMap<>();
+  private long recomputations;
+  private long repairVisits;
+
+  /**
+   * Starts tracking the airports reachable from the given source.
+   *
+   * @param source the source airport
+   */
+  public void track(Airport source) {
+    if (!trees.containsKey(source)) {
+      Map<Airport, Airport> tree = new IdentityHashMap<>();
+      trees.put(source, tree);
+      extend(tree, source, source);
+    }
+  }
+
+  /**
+   * Stops tracking the given source. Airports no other tracked source reaches are unregistered.
+   *
+   * @param source the source airport
+   */
+  public void untrack(Airport source) {
+    Map<Airport, Airport> tree = trees.remove(source);
+    if (tree != null) {
+      for (Airport airport : tree.keySet()) {
+        release(airport);
+      }
+    }
+  }
+
+  /**
+   * Determines whether the destination is currently reachable from a tracked source. If the
+   * source is not tracked, falls back to {@link Build#canReach(Airport, Airport)}.
+   *
+   * @param source the starting airport
+   * @param destination the destination airport
+   * @return true if the destination is reachable from the source, false otherwise
+   */
+  public boolean canReach(Airport source, Airport destination) {
+    Map<Airport, Airport> tree = trees.get(source);
+    if (tree == null) {
+      return Build.canReach(source, destination);
+    }
+    return tree.containsKey(destination);
+  }
+
+  /**
+   * Returns a read-only view of the airports currently reachable from a tracked source.
+   *
+   * @param source the source airport
+   * @return the reachable airports, or an empty set if the source is not tracked
+   */
+  public Set<Airport> reachableFrom(Airport source) {
+    Map<Airport, Airport> tree = trees.get(source);
+    return tree == null ? Collections.emptySet() : Collections.unmodifiableSet(tree.keySet());
+  }
+
+  /**
+   * Returns how many times route removals have made this structure repair a source's
+   * reachable set.
+   *
+   * @return the number of per-source repairs
+   */
+  public long recomputations() {
+    return recomputations;
+  }
+
+  /**
+   * Returns how many airports all repairs together have examined, a measure of the work route
+   * removals have cost.
+   *
+   * @return the number of airports examined by repairs
+   */
+  public long repairVisits() {
+    return repairVisits;
+  }
+
+  /**
+   * Returns how many airports this structure is registered with.
+   *
+   * @return the number of airports listened to
+   */
+  public int listenedAirports() {
+    return reachCount.size();
+  }
+
+  @Override
+  public void routeAdded(Airport from, Airport to) {
+    inbound.computeIfAbsent(to, a -> new ArrayList<>()).add(from);
+    for (Map<Airport, Airport> tree : trees.values()) {
+      if (tree.containsKey(from) && !tree.containsKey(to)) {
+        extend(tree, to, from);
+      }
+    }
+  }
+
+  @Override
+  public void routeRemoved(Airport from, Airport to) {
+    removeInbound(to, from);
+    if (from.getOutboundFlights().contains(to)) {
+      // A duplicate flight that is still present cannot change reachability
+      return;
+    }
+    for (Map.Entry<Airport, Map<Airport, Airport>> entry : trees.entrySet()) {
+      Map<Airport, Airport> tree = entry.getValue();
+      if (entry.getKey() != to && tree.get(to) == from) {
+        repair(tree, to);
+        recomputations++;
+      }
+    }
+  }
+
+  /**
+   * Reattaches or drops the airports below {@code cut} in a tree after the flight into it was
+   * removed. Every other airport keeps its path from the source, since that path never passes
+   * through the cut.
+   */
+  private void repair(Map<Airport, Airport> tree, Airport cut) {
+    // The airports below the cut
+    Set<Airport> below = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Airport> stack = new ArrayDeque<>();
+    below.add(cut);
+    stack.push(cut);
+    while (!stack.isEmpty()) {
+      Airport current = stack.pop();
+      repairVisits++;
+      for (Airport next : current.getOutboundFlights()) {
+        if (next != null && tree.get(next) == current && below.add(next)) {
+          stack.push(next);
+        }
+      }
+    }
+
+    // Airports below the cut still entered from the rest of the tree survive, along with
+    // everything they lead to
+    Set<Airport> alive = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Airport airport : below) {
+      for (Airport predecessor : inbound.getOrDefault(airport, Collections.emptyList())) {
+        if (tree.containsKey(predecessor) && !below.contains(predecessor)) {
+          tree.put(airport, predecessor);
+          alive.add(airport);
+          stack.push(airport);
+          break;
+        }
+      }
+    }
+    while (!stack.isEmpty()) {
+      Airport current = stack.pop();
+      repairVisits++;
+      for (Airport next : current.getOutboundFlights()) {
+        if (next != null && below.contains(next) && alive.add(next)) {
+          tree.put(next, current);
+          stack.push(next);
+        }
+      }
+    }
+
+    for (Airport airport : below) {
+      if (!alive.contains(airport)) {
+        tree.remove(airport);
+        release(airport);
+      }
+    }
+  }
+
+  /**
+   * Adds the given airport, reached from {@code parent}, and everything newly reachable from it
+   * to a tree, exploring only airports not already in the tree.
+   */
+  private void extend(Map<Airport, Airport> tree, Airport start, Airport parent) {
+    Deque<Airport> stack = new ArrayDeque<>();
+    tree.put(start, parent);
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Airport current = stack.pop();
+      retain(current);
+      for (Airport next : current.getOutboundFlights()) {
+        if (next != null && !tree.containsKey(next)) {
+          tree.put(next, current);
+          stack.push(next);
+        }
+      }
+    }
+  }
+  /**
+   * Counts one more source reaching an airport, registering with it and indexing its flights
+   * when it is the first.
+   */
+  private void retain(Airport airport) {
+    if (reachCount.merge(airport, 1, Integer::sum) == 1) {
+      airport.addRouteListener(this);
+      for (Airport next : airport.getOutboundFlights()) {
+        if (next != null) {
+          inbound.computeIfAbsent(next, a -> new ArrayList<>()).add(airport);
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts one fewer source reaching an airport, unregistering from it and dropping its
+   * flights from the index when it was the last.
+   */
+  private void release(Airport airport) {
+    Integer count = reachCount.get(airport);
+    if (count == null) {
+      return;
+    }
+    if (count > 1) {
+      reachCount.put(airport, count - 1);
+      return;
+    }
+    reachCount.remove(airport);
+    airport.removeRouteListener(this);
+    for (Airport next : airport.getOutboundFlights()) {
+      if (next != null) {
+        removeInbound(next, airport);
+      }
+    }
+  }
+
+  private void removeInbound(Airport to, Airport from) {
+    List<Airport> predecessors = inbound.get(to);
+    if (predecessors != null) {
+      predecessors.remove(from);
+      if (predecessors.isEmpty()) {
+        inbound.remove(to);
+      }
+    }
+  }
+}
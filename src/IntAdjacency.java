@@ -0,0 +1,196 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable graph over int keys, specialized for the {@code Map<Integer, List<Integer>>} shape.
+ * Keys live in an open-addressing table, and each key's slot holds the range of its neighbors
+ * in one flat {@code int[]}. Lookups and traversals therefore never box, and the slot number of
+ * a key doubles as a dense index for visited-state.
+ *
+ * Each slot's key, neighbor range and in-use flag sit next to each other in one array, so a
+ * lookup touches a single cache line.
+ */
+public final class IntAdjacency {
+  private static final int STRIDE = 4;
+  private static final int KEY = 0;
+  private static final int START = 1;
+  private static final int END = 2;
+  private static final int USED = 3;
+
+  private final int[] table;
+  private final int[] neighbors;
+  private final int size;
+
+  private IntAdjacency(int[] table, int[] neighbors, int size) {
+    this.table = table;
+    this.neighbors = neighbors;
+    this.size = size;
+  }
+
+  /**
+   * Copies a map of vertices to neighbors into int form. Null neighbors are dropped.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @return the int adjacency
+   */
+  public static IntAdjacency of(Map<Integer, List<Integer>> graph) {
+    int[] keys = new int[graph.size()];
+    int[][] lists = new int[graph.size()][];
+    int k = 0;
+    for (Map.Entry<Integer, List<Integer>> entry : graph.entrySet()) {
+      keys[k] = entry.getKey();
+      List<Integer> list = entry.getValue();
+      int[] targets = new int[list == null ? 0 : list.size()];
+      int count = 0;
+      if (list != null) {
+        for (Integer target : list) {
+          if (target != null) {
+            targets[count++] = target;
+          }
+        }
+      }
+      lists[k++] = Arrays.copyOf(targets, count);
+    }
+    return of(keys, lists);
+  }
+
+  /**
+   * Builds an adjacency from parallel arrays of keys and their neighbors.
+   *
+   * @param keys the distinct vertex keys
+   * @param lists the neighbors of each key
+   * @return the int adjacency
+   */
+  public static IntAdjacency of(int[] keys, int[][] lists) {
+    int capacity = tableSize(keys.length);
+    int mask = capacity - 1;
+    int[] table = new int[STRIDE * capacity];
+    int edgeCount = 0;
+    for (int[] list : lists) {
+      edgeCount += list.length;
+    }
+    int[] neighbors = new int[edgeCount];
+    int position = 0;
+    for (int k = 0; k < keys.length; k++) {
+      int slot = hash(keys[k]) & mask;
+      while (table[STRIDE * slot + USED] != 0) {
+        if (table[STRIDE * slot + KEY] == keys[k]) {
+          throw new IllegalArgumentException("Duplicate key " + keys[k]);
+        }
+        slot = (slot + 1) & mask;
+      }
+      int base = STRIDE * slot;
+      table[base + USED] = 1;
+      table[base + KEY] = keys[k];
+      table[base + START] = position;
+      System.arraycopy(lists[k], 0, neighbors, position, lists[k].length);
+      position += lists[k].length;
+      table[base + END] = position;
+    }
+    return new IntAdjacency(table, neighbors, keys.length);
+  }
+
+  /**
+   * Returns a power-of-two table size that keeps the load factor at or below one half.
+   */
+  static int tableSize(int expectedSize) {
+    int capacity = 4;
+    while (capacity < 2L * expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * Spreads the bits of a key so that sequential keys do not cluster in the table.
+   */
+  static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Returns the slot holding a key.
+   *
+   * @param key the key to look for
+   * @return the slot, or -1 if the key is not in the graph
+   */
+  public int slotOf(int key) {
+    int mask = capacity() - 1;
+    for (int slot = hash(key) & mask; table[STRIDE * slot + USED] != 0; slot = (slot + 1) & mask) {
+      if (table[STRIDE * slot + KEY] == key) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of slots in the table. Every slot number is below this value.
+   *
+   * @return the table capacity
+   */
+  public int capacity() {
+    return table.length / STRIDE;
+  }
+
+  /**
+   * Returns the number of keys.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether a slot holds a key.
+   *
+   * @param slot the slot number
+   * @return true if the slot is in use
+   */
+  public boolean isUsed(int slot) {
+    return table[STRIDE * slot + USED] != 0;
+  }
+
+  /**
+   * Returns the key held in a slot.
+   *
+   * @param slot a used slot number
+   * @return the key
+   */
+  public int keyAt(int slot) {
+    return table[STRIDE * slot + KEY];
+  }
+
+  /**
+   * Returns the index of a slot's first neighbor in the flat neighbor array.
+   *
+   * @param slot a used slot number
+   * @return the start of the slot's neighbors
+   */
+  public int start(int slot) {
+    return table[STRIDE * slot + START];
+  }
+
+  /**
+   * Returns the index just past a slot's last neighbor in the flat neighbor array.
+   *
+   * @param slot a used slot number
+   * @return the exclusive end of the slot's neighbors
+   */
+  public int end(int slot) {
+    return table[STRIDE * slot + END];
+  }
+
+  /**
+   * Returns the neighbor at an index of the flat neighbor array.
+   *
+   * @param index the index, between a slot's start and end
+   * @return the neighbor key
+   */
+  public int neighbor(int index) {
+    return neighbors[index];
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * Read-only directed graph over dense int vertex ids from 0 to {@code vertexCount() - 1}, with
+ * the outgoing edges of each vertex stored contiguously. The edges of vertex v are the edge
+ * indices from {@code firstEdge(v)} (inclusive) to {@code endEdge(v)} (exclusive).
+ *
+ * Implemented by the in-heap {@link CsrGraph} and the memory-mapped {@link MappedGraph}, so
+ * traversals written against this interface run on either.
+ */
+public interface IntGraph {
+
+  /**
+   * Returns the number of vertices in the graph.
+   *
+   * @return the vertex count
+   */
+  int vertexCount();
+
+  /**
+   * Returns the number of edges in the graph.
+   *
+   * @return the edge count
+   */
+  int edgeCount();
+
+  /**
+   * Returns the index of the first outgoing edge of a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the index of the vertex's first edge
+   */
+  int firstEdge(int vertex);
+
+  /**
+   * Returns the index just past the last outgoing edge of a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the exclusive end index of the vertex's edges
+   */
+  int endEdge(int vertex);
+
+  /**
+   * Returns the vertex an edge points to.
+   *
+   * @param edge the edge index
+   * @return the target vertex id
+   */
+  int target(int edge);
+
+  /**
+   * Returns the number of outgoing edges of a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the out-degree of the vertex
+   */
+  default int degree(int vertex) {
+    return endEdge(vertex) - firstEdge(vertex);
+  }
+}
@@ -0,0 +1,136 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of ints using open addressing with linear probing over a flat {@code int[]}, so adding
+ * and looking up values never boxes or allocates per element.
+ */
+public class IntHashSet {
+  private static final int EMPTY = Integer.MIN_VALUE;
+
+  private int[] slots;
+  private int size;
+  private boolean containsEmptyMarker;
+
+  /**
+   * Creates a set sized to hold the given number of values without resizing.
+   *
+   * @param expectedSize the expected number of values
+   */
+  public IntHashSet(int expectedSize) {
+    slots = new int[IntAdjacency.tableSize(expectedSize)];
+    Arrays.fill(slots, EMPTY);
+  }
+
+  /**
+   * Adds a value to the set.
+   *
+   * @param value the value to add
+   * @return true if the value was not already in the set
+   */
+  public boolean add(int value) {
+    if (value == EMPTY) {
+      boolean added = !containsEmptyMarker;
+      containsEmptyMarker = true;
+      size += added ? 1 : 0;
+      return added;
+    }
+    int mask = slots.length - 1;
+    for (int i = IntAdjacency.hash(value) & mask; ; i = (i + 1) & mask) {
+      if (slots[i] == value) {
+        return false;
+      }
+      if (slots[i] == EMPTY) {
+        slots[i] = value;
+        if (++size * 2 > slots.length) {
+          grow();
+        }
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns whether a value is in the set.
+   *
+   * @param value the value to look for
+   * @return true if the value is in the set
+   */
+  public boolean contains(int value) {
+    if (value == EMPTY) {
+      return containsEmptyMarker;
+    }
+    int mask = slots.length - 1;
+    for (int i = IntAdjacency.hash(value) & mask; ; i = (i + 1) & mask) {
+      if (slots[i] == value) {
+        return true;
+      }
+      if (slots[i] == EMPTY) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of values in the set.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the set has no values.
+   *
+   * @return true if the set is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Calls the given action for every value in the set, in no particular order.
+   *
+   * @param action the action to call
+   */
+  public void forEach(IntConsumer action) {
+    if (containsEmptyMarker) {
+      action.accept(EMPTY);
+    }
+    for (int value : slots) {
+      if (value != EMPTY) {
+        action.accept(value);
+      }
+    }
+  }
+
+  /**
+   * Returns the values of the set in ascending order.
+   *
+   * @return a new sorted array of the values
+   */
+  public int[] toSortedArray() {
+    int[] values = new int[size];
+    int[] count = {0};
+    forEach(value -> values[count[0]++] = value);
+    Arrays.sort(values);
+    return values;
+  }
+
+  private void grow() {
+    int[] old = slots;
+    slots = new int[old.length * 2];
+    Arrays.fill(slots, EMPTY);
+    int mask = slots.length - 1;
+    for (int value : old) {
+      if (value != EMPTY) {
+        int i = IntAdjacency.hash(value) & mask;
+        while (slots[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        slots[i] = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * {@link TraversalRecorder} that emits one JDK Flight Recorder event per traversal, so
+ * traversal counters show up next to GC and allocation data in a recording. Events are only
+ * allocated while a recording has the {@code dfs.Traversal} event enabled, so with no recording
+ * running each call costs one flag check.
+ */
+public class JfrTraversalRecorder implements TraversalRecorder {
+
+  /**
+   * Flight Recorder event carrying one traversal's counters.
+   */
+  @Name("dfs.Traversal")
+  @Label("Graph Traversal")
+  @Category("Graph")
+  @Description("Counters of one Build traversal")
+  static class TraversalEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Vertices Visited")
+    long verticesVisited;
+
+    @Label("Edges Scanned")
+    long edgesScanned;
+
+    @Label("Revisits Avoided")
+    long revisitsAvoided;
+
+    @Label("Max Frontier")
+    int maxFrontier;
+
+    @Label("Wall Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long wallNanos;
+  }
+
+  private static final EventType TYPE = EventType.getEventType(TraversalEvent.class);
+
+  @Override
+  public void record(TraversalStats stats) {
+    if (!TYPE.isEnabled()) {
+      return;
+    }
+    TraversalEvent event = new TraversalEvent();
+    event.operation = stats.getOperation();
+    event.verticesVisited = stats.getVerticesVisited();
+    event.edgesScanned = stats.getEdgesScanned();
+    event.revisitsAvoided = stats.getRevisitsAvoided();
+    event.maxFrontier = stats.getMaxFrontier();
+    event.wallNanos = stats.getWallNanos();
+    event.commit();
+  }
+}
@@ -0,0 +1,112 @@
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only airport network backed by a memory-mapped {@link GraphFile}. Edges are read straight
+ * from the mapped file, so traversals need no deserialization and the network takes almost no
+ * heap. Airport codes and names are decoded only when asked for.
+ *
+ * Safe to share between threads once created.
+ */
+public final class MappedGraph implements IntGraph {
+  private final int vertexCount;
+  private final int edgeCount;
+  private final IntBuffer offsets;
+  private final IntBuffer targets;
+  private final IntBuffer idTable;
+  private final ByteBuffer pool;
+  private volatile Map<String, Integer> codeIds;
+
+  MappedGraph(ByteBuffer buffer) {
+    this.vertexCount = buffer.getInt(8);
+    this.edgeCount = buffer.getInt(12);
+    IntBuffer ints = buffer.asIntBuffer();
+    int position = GraphFile.HEADER_INTS;
+    this.offsets = slice(ints, position, vertexCount + 1);
+    position += vertexCount + 1;
+    this.targets = slice(ints, position, edgeCount);
+    position += edgeCount;
+    this.idTable = slice(ints, position, GraphFile.ID_TABLE_INTS * vertexCount);
+    position += GraphFile.ID_TABLE_INTS * vertexCount;
+    this.pool = buffer.duplicate().position(4 * position).slice();
+  }
+
+  private static IntBuffer slice(IntBuffer ints, int position, int length) {
+    return ints.duplicate().position(position).limit(position + length).slice();
+  }
+
+  @Override
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  @Override
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public int firstEdge(int vertex) {
+    return offsets.get(vertex);
+  }
+
+  @Override
+  public int endEdge(int vertex) {
+    return offsets.get(vertex + 1);
+  }
+
+  @Override
+  public int target(int edge) {
+    return targets.get(edge);
+  }
+
+  /**
+   * Returns the airport code of a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the airport code
+   */
+  public String getAirportCode(int vertex) {
+    return string(2 * vertex);
+  }
+
+  /**
+   * Returns the airport name of a vertex.
+   *
+   * @param vertex the vertex id
+   * @return the airport name
+   */
+  public String getName(int vertex) {
+    return string(2 * vertex + 1);
+  }
+
+  /**
+   * Returns the id of the airport with the given code. The lookup table is built on first use
+   * and is the only part of the network kept on the heap.
+   *
+   * @param airportCode the code to look for
+   * @return the vertex id, or -1 if no airport has the code
+   */
+  public int idOf(String airportCode) {
+    Map<String, Integer> index = codeIds;
+    if (index == null) {
+      index = new HashMap<>(vertexCount * 2);
+      for (int v = 0; v < vertexCount; v++) {
+        index.putIfAbsent(getAirportCode(v), v);
+      }
+      codeIds = index;
+    }
+    return index.getOrDefault(airportCode, -1);
+  }
+
+  private String string(int slot) {
+    int offset = idTable.get(2 * slot);
+    int length = idTable.get(2 * slot + 1);
+    byte[] bytes = new byte[length];
+    pool.get(offset, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,113 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for {@link QueryServer}. Sends a fixed number of requests at each concurrency
+ * level and reports throughput, p50 and p99 latency, and how many requests the server rejected.
+ * Usage: {@code QueryLoadClient <base url> <requests per level> <path> [path ...]}, where each
+ * path is a query such as {@code /canReach?from=A&to=B}; the paths are sent round-robin.
+ */
+public class QueryLoadClient {
+  private static final int[] CONCURRENCY_LEVELS = {1, 4, 16, 64, 256};
+
+  /**
+   * Latency summary for one concurrency level.
+   */
+  public static class Report {
+    public final int concurrency;
+    public final int requests;
+    public final int rejected;
+    public final double requestsPerSecond;
+    public final double p50Millis;
+    public final double p99Millis;
+
+    Report(int concurrency, int requests, int rejected, double requestsPerSecond, double p50Millis, double p99Millis) {
+      this.concurrency = concurrency;
+      this.requests = requests;
+      this.rejected = rejected;
+      this.requestsPerSecond = requestsPerSecond;
+      this.p50Millis = p50Millis;
+      this.p99Millis = p99Millis;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("concurrency=%-4d requests=%-6d rejected=%-5d req/s=%-10.1f p50=%.3fms p99=%.3fms",
+          concurrency, requests, rejected, requestsPerSecond, p50Millis, p99Millis);
+    }
+  }
+
+  /**
+   * Sends requests at one concurrency level and measures their latency.
+   *
+   * @param base the server's base URL, such as {@code http://localhost:8080}
+   * @param paths the query paths to send round-robin
+   * @param concurrency the number of requests kept in flight
+   * @param requests the total number of requests to send
+   * @return the latency summary
+   * @throws Exception if a request fails to complete
+   */
+  public static Report run(URI base, List<String> paths, int concurrency, int requests) throws Exception {
+    HttpClient client = HttpClient.newBuilder().build();
+    long[] latencies = new long[requests];
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+    long start = System.nanoTime();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < concurrency; w++) {
+        futures.add(workers.submit(() -> {
+          for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+            HttpRequest request = HttpRequest.newBuilder(base.resolve(paths.get(i % paths.size()))).build();
+            long sent = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - sent;
+            if (response.statusCode() == 503) {
+              rejected.incrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+    long elapsed = System.nanoTime() - start;
+    Arrays.sort(latencies);
+    return new Report(concurrency, requests, rejected.get(), requests * 1e9 / elapsed,
+        percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+  }
+
+  private static long percentile(long[] sorted, double fraction) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println("Usage: QueryLoadClient <base url> <requests per level> <path> [path ...]");
+      System.exit(2);
+    }
+    URI base = URI.create(args[0]);
+    int requests = Integer.parseInt(args[1]);
+    List<String> paths = Arrays.asList(args).subList(2, args.length);
+    for (int concurrency : CONCURRENCY_LEVELS) {
+      System.out.println(run(base, paths, concurrency, requests));
+    }
+  }
+}
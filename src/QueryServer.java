@@ -0,0 +1,267 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Small HTTP server answering reachability queries against the current {@link GraphSnapshot}
+ * of a word or route graph whose payloads are strings.
+ *
+ * <pre>
+ *   GET  /canReach?from=A&amp;to=B    true or false
+ *   GET  /unreachable?from=A         one unreachable vertex per line
+ *   GET  /longestWord?from=A         the longest word reachable from A
+ *   POST /batch                      one query per line, e.g. "canReach A B", answered in order
+ * </pre>
+ *
+ * Each request runs on its own virtual thread when the JVM supports them (Java 21 and later).
+ * Older JVMs fall back to a fixed pool of {@code maxInFlight} platform threads. Either way, at
+ * most {@code maxInFlight} requests are admitted at once. The server's dispatcher thread takes
+ * a permit before handing a request over, and answers 503 itself when none is free, so overload
+ * turns into fast failures instead of a pile of waiting threads. A missing or bad parameter is
+ * answered with 400 and any other failure with 500. Requests still waiting for a thread when
+ * the server is closed are answered with 503.
+ */
+public class QueryServer implements AutoCloseable {
+  private final GraphSnapshots<String> snapshots;
+  private final HttpServer server;
+  private final ExecutorService workers;
+  private final Semaphore inFlight;
+
+  /**
+   * Creates a server bound to the loopback address. Call {@link #start()} to begin serving.
+   *
+   * @param snapshots the graph versions to query
+   * @param port the port to listen on, or 0 for any free port
+   * @param maxInFlight the most requests admitted at once
+   * @throws IOException if the port cannot be bound
+   */
+  public QueryServer(GraphSnapshots<String> snapshots, int port, int maxInFlight) throws IOException {
+    this.snapshots = snapshots;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.workers = newRequestExecutor(maxInFlight);
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/canReach", exchange -> submit(exchange, () -> {
+      Map<String, String> query = parseQuery(exchange);
+      return String.valueOf(snapshots.current().canReach(required(query, "from"), required(query, "to")));
+    }));
+    server.createContext("/unreachable", exchange -> submit(exchange,
+        () -> unreachable(snapshots.current(), required(parseQuery(exchange), "from"))));
+    server.createContext("/longestWord", exchange -> submit(exchange,
+        () -> longestWord(snapshots.current(), required(parseQuery(exchange), "from"))));
+    server.createContext("/batch", exchange -> submit(exchange,
+        () -> batch(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))));
+  }
+
+  /**
+   * Returns a virtual-thread-per-task executor when the running JVM has one, or a fixed pool of
+   * {@code threads} platform threads otherwise. Admission is bounded by the caller either way.
+   */
+  private static ExecutorService newRequestExecutor(int threads) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(threads);
+    }
+  }
+
+  /**
+   * Starts serving requests.
+   */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Returns the port the server is listening on.
+   *
+   * @return the port
+   */
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stops the server. Requests admitted but not yet running are answered with 503; requests
+   * already running are interrupted and their connections closed.
+   */
+  @Override
+  public void close() {
+    for (Runnable pending : workers.shutdownNow()) {
+      reject(((Request) pending).exchange, "Server is shutting down\n");
+    }
+    server.stop(0);
+  }
+
+  /**
+   * A query handler that may fail on bad input.
+   */
+  private interface Handler {
+    String respond() throws IOException;
+  }
+
+  /**
+   * One admitted request waiting for a worker thread. Releases its permit when done.
+   */
+  private final class Request implements Runnable {
+    final HttpExchange exchange;
+    final Handler handler;
+
+    Request(HttpExchange exchange, Handler handler) {
+      this.exchange = exchange;
+      this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+      try (exchange) {
+        try {
+          send(exchange, 200, handler.respond());
+        } catch (IllegalArgumentException e) {
+          send(exchange, 400, e.getMessage() + "\n");
+        } catch (RuntimeException e) {
+          send(exchange, 500, "Internal error\n");
+        }
+      } catch (IOException e) {
+        // The client went away; there is no one left to answer
+      } finally {
+        inFlight.release();
+      }
+    }
+  }
+
+  /**
+   * Admits a request and hands it to a worker thread, or answers 503 when too many are in
+   * flight or the server is closing. Runs on the server's dispatcher thread.
+   */
+  private void submit(HttpExchange exchange, Handler handler) {
+    if (!inFlight.tryAcquire()) {
+      reject(exchange, "Too many requests in flight\n");
+      return;
+    }
+    try {
+      workers.execute(new Request(exchange, handler));
+    } catch (RejectedExecutionException e) {
+      inFlight.release();
+      reject(exchange, "Server is shutting down\n");
+    }
+  }
+
+  /**
+   * Answers a request with 503 and closes its exchange.
+   */
+  private static void reject(HttpExchange exchange, String reason) {
+    try (exchange) {
+      exchange.getResponseHeaders().set("Retry-After", "1");
+      send(exchange, 503, reason);
+    } catch (IOException e) {
+      // The client went away; there is no one left to answer
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> parseQuery(HttpExchange exchange) {
+    Map<String, String> params = new HashMap<>();
+    String raw = exchange.getRequestURI().getRawQuery();
+    if (raw == null) {
+      return params;
+    }
+    for (String pair : raw.split("&")) {
+      int equals = pair.indexOf('=');
+      if (equals > 0) {
+        params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+            URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return params;
+  }
+
+  /**
+   * Returns a query parameter, or fails with 400 if it is missing.
+   */
+  private static String required(Map<String, String> query, String name) {
+    String value = query.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing parameter: " + name);
+    }
+    return value;
+  }
+
+  private static String unreachable(GraphSnapshot<String> snapshot, String from) {
+    StringBuilder out = new StringBuilder();
+    Set<String> unreachable = snapshot.unreachable(from);
+    for (String vertex : unreachable) {
+      out.append(vertex).append('\n');
+    }
+    return out.toString();
+  }
+
+  private static String longestWord(GraphSnapshot<String> snapshot, String from) {
+    CsrGraph<String> graph = snapshot.graph();
+    int root = graph.idOf(from);
+    return root < 0 ? "" : Build.longestWord(graph, snapshot.traversal(), root);
+  }
+
+  /**
+   * Answers one query per line against a single snapshot, so every answer in the batch comes
+   * from the same version of the graph.
+   */
+  private String batch(String body) {
+    GraphSnapshot<String> snapshot = snapshots.current();
+    StringBuilder out = new StringBuilder();
+    for (String line : body.split("\n")) {
+      String[] parts = line.trim().split("\\s+");
+      if (parts[0].isEmpty()) {
+        continue;
+      }
+      if (parts[0].equals("canReach") && parts.length == 3) {
+        out.append(snapshot.canReach(parts[1], parts[2])).append('\n');
+      } else if (parts[0].equals("unreachable") && parts.length == 2) {
+        out.append(String.join(" ", snapshot.unreachable(parts[1]))).append('\n');
+      } else if (parts[0].equals("longestWord") && parts.length == 2) {
+        out.append(longestWord(snapshot, parts[1])).append('\n');
+      } else {
+        throw new IllegalArgumentException("Bad batch query: " + line.trim());
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * Serves an edge-list file on localhost until the process is stopped.
+   * Usage: {@code QueryServer <edge-list file> [port] [max in flight]}.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: QueryServer <edge-list file> [port] [max in flight]");
+      System.exit(2);
+    }
+    CsrGraph<String> graph = EdgeListReader.read(Paths.get(args[0]));
+    int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+    int maxInFlight = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+    QueryServer server = new QueryServer(new GraphSnapshots<>(graph), port, maxInFlight);
+    server.start();
+    System.out.println("Serving " + graph.vertexCount() + " vertices on http://localhost:" + server.port());
+  }
+}
@@ -0,0 +1,145 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class QueryServerTest {
+  private QueryServer server;
+  private URI base;
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Before
+  public void startServer() throws Exception {
+    // "cat" -> "elephant", "dog"; "dog" -> "cat"; "ox" is on its own
+    Map<String, List<String>> graph = new HashMap<>();
+    graph.put("cat", new ArrayList<>(Arrays.asList("elephant", "dog")));
+    graph.put("dog", new ArrayList<>(Arrays.asList("cat")));
+    graph.put("elephant", new ArrayList<>());
+    graph.put("ox", new ArrayList<>());
+    server = new QueryServer(new GraphSnapshots<>(CsrGraph.compile(graph)), 0, 8);
+    server.start();
+    base = URI.create("http://localhost:" + server.port());
+  }
+
+  @After
+  public void stopServer() {
+    server.close();
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    return client.send(HttpRequest.newBuilder(base.resolve(path)).build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  public void testQueries() throws Exception {
+    assertEquals("true", get("/canReach?from=dog&to=elephant").body());
+    assertEquals("false", get("/canReach?from=elephant&to=dog").body());
+    assertEquals("ox\n", get("/unreachable?from=cat").body());
+    assertEquals("elephant", get("/longestWord?from=dog").body());
+  }
+
+  @Test
+  public void testBatch() throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(base.resolve("/batch"))
+        .POST(HttpRequest.BodyPublishers.ofString("canReach cat dog\nlongestWord ox\ncanReach ox cat\n"))
+        .build();
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode());
+    assertEquals("true\nox\nfalse\n", response.body());
+
+    HttpRequest bad = HttpRequest.newBuilder(base.resolve("/batch"))
+        .POST(HttpRequest.BodyPublishers.ofString("fly cat\n"))
+        .build();
+    assertEquals(400, client.send(bad, HttpResponse.BodyHandlers.ofString()).statusCode());
+  }
+
+  @Test
+  public void testLoadClient() throws Exception {
+    QueryLoadClient.Report report = QueryLoadClient.run(base,
+        Arrays.asList("/canReach?from=cat&to=elephant", "/longestWord?from=cat"), 4, 200);
+    assertEquals(200, report.requests);
+    assertTrue(report.p99Millis >= report.p50Millis);
+  }
+
+  @Test
+  public void testMissingParameter() throws Exception {
+    HttpResponse<String> response = get("/canReach?from=cat");
+    assertEquals(400, response.statusCode());
+    assertEquals("Missing parameter: to\n", response.body());
+    assertEquals(400, get("/unreachable").statusCode());
+    assertEquals(400, get("/longestWord?to=cat").statusCode());
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void testUnexpectedFailureIsServerError() throws Exception {
+    Map<Integer, List<Integer>> numbers = new HashMap<>();
+    numbers.put(1, new ArrayList<>());
+    numbers.put(2, new ArrayList<>());
+    // Integer payloads where the server expects strings make the query itself fail
+    GraphSnapshots<String> snapshots = new GraphSnapshots<>((CsrGraph) CsrGraph.compile(numbers));
+    try (QueryServer broken = new QueryServer(snapshots, 0, 2)) {
+      broken.start();
+      URI brokenBase = URI.create("http://localhost:" + broken.port());
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(brokenBase.resolve("/unreachable?from=x")).build(), HttpResponse.BodyHandlers.ofString());
+      assertEquals(500, response.statusCode());
+    }
+  }
+
+  @Test
+  public void testOverloadIsRejected() throws Exception {
+    Map<String, List<String>> chain = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      chain.put("w" + i, new ArrayList<>(Arrays.asList("w" + (i + 1))));
+    }
+    // One worker and one queue slot, each request listing about 100,000 vertices
+    try (QueryServer small = new QueryServer(new GraphSnapshots<>(CsrGraph.compile(chain)), 0, 1)) {
+      small.start();
+      QueryLoadClient.Report report = QueryLoadClient.run(URI.create("http://localhost:" + small.port()),
+          Arrays.asList("/unreachable?from=w99999"), 32, 64);
+      assertEquals(64, report.requests);
+      assertTrue(report.toString(), report.rejected > 0);
+      assertTrue(report.toString(), report.rejected < 64);
+    }
+  }
+
+  @Test
+  public void testCloseFinishesEveryRequest() throws Exception {
+    Map<String, List<String>> chain = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      chain.put("w" + i, new ArrayList<>(Arrays.asList("w" + (i + 1))));
+    }
+    QueryServer closing = new QueryServer(new GraphSnapshots<>(CsrGraph.compile(chain)), 0, 2);
+    closing.start();
+    URI closingBase = URI.create("http://localhost:" + closing.port());
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      responses.add(client.sendAsync(HttpRequest.newBuilder(closingBase.resolve("/unreachable?from=w99999")).build(),
+          HttpResponse.BodyHandlers.ofString()));
+    }
+    closing.close();
+    // Every request is answered or has its connection closed; none is left hanging
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      try {
+        int status = response.get(10, TimeUnit.SECONDS).statusCode();
+        assertTrue("status " + status, status == 200 || status == 503);
+      } catch (ExecutionException e) {
+        // The connection was closed before an answer was sent
+      }
+    }
+  }
+}
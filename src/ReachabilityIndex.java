@@ -0,0 +1,276 @@
+import java.util.Arrays;
+
+/**
+ * Precomputed reachability index over an {@link IntGraph}, answering "can A reach B" with two
+ * array lookups and a binary search over a short list.
+ *
+ * Building the index finds the strongly connected components with an iterative version of
+ * Tarjan's algorithm and condenses them into a DAG. For every component it stores the
+ * components it can reach as a sorted list of disjoint intervals of component numbers.
+ * Tarjan numbers components in the order it finishes them, a post-order of its search forest,
+ * so each subtree of that forest is one contiguous range and most closures shrink to a few
+ * intervals; a chain of a million components needs one interval each instead of a million
+ * bits. Vertices in the same component share one list. It suits graphs that are queried far
+ * more often than they change; rebuild it after the graph changes.
+ *
+ * Some DAGs still need many intervals per component, so building stops with an
+ * {@link IllegalArgumentException} as soon as the intervals would exceed a byte limit, rather
+ * than running out of memory.
+ */
+public class ReachabilityIndex {
+  private final int[] component;
+  private final int[] intervalStart;
+  private final int[] intervals;
+  private final long buildNanos;
+
+  private ReachabilityIndex(int[] component, int[] intervalStart, int[] intervals, long buildNanos) {
+    this.component = component;
+    this.intervalStart = intervalStart;
+    this.intervals = intervals;
+    this.buildNanos = buildNanos;
+  }
+
+  /**
+   * Builds the reachability index for a graph, allowing the intervals to use up to a quarter of
+   * the maximum heap.
+   *
+   * @param graph the graph to index
+   * @return the index
+   * @throws IllegalArgumentException if the index would exceed the limit
+   */
+  public static ReachabilityIndex build(IntGraph graph) {
+    return build(graph, Runtime.getRuntime().maxMemory() / 4);
+  }
+
+  /**
+   * Builds the reachability index for a graph.
+   *
+   * @param graph the graph to index
+   * @param maxBytes the most memory the closure intervals may use
+   * @return the index
+   * @throws IllegalArgumentException if the index would exceed maxBytes
+   */
+  public static ReachabilityIndex build(IntGraph graph, long maxBytes) {
+    long startTime = System.nanoTime();
+    int n = graph.vertexCount();
+    int[] component = new int[n];
+    int componentCount = findComponents(graph, component);
+
+    // Group vertices by component so each component's outgoing edges can be scanned together
+    int[] memberStart = new int[componentCount + 1];
+    for (int v = 0; v < n; v++) {
+      memberStart[component[v] + 1]++;
+    }
+    for (int c = 0; c < componentCount; c++) {
+      memberStart[c + 1] += memberStart[c];
+    }
+    int[] members = new int[n];
+    int[] fill = memberStart.clone();
+    for (int v = 0; v < n; v++) {
+      members[fill[component[v]]++] = v;
+    }
+
+    // Tarjan numbers components in reverse topological order, so every component a component
+    // points to has a smaller number and its intervals are already complete
+    long maxInts = maxBytes / Integer.BYTES;
+    int[] intervalStart = new int[componentCount + 1];
+    int[] intervals = new int[Math.max(16, (int) Math.min(2L * componentCount, maxInts))];
+    int size = 0;
+    int[] seenBy = new int[componentCount];
+    Arrays.fill(seenBy, -1);
+    long[] pending = new long[16];
+    for (int c = 0; c < componentCount; c++) {
+      // Collect this component and the intervals of every distinct successor as start:end pairs
+      int count = 0;
+      pending[count++] = pack(c, c);
+      for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+        int v = members[m];
+        for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+          int other = component[graph.target(e)];
+          if (other == c || seenBy[other] == c) {
+            continue;
+          }
+          seenBy[other] = c;
+          int from = intervalStart[other];
+          int to = intervalStart[other + 1];
+          if (count + (to - from) / 2 > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, count + (to - from) / 2));
+          }
+          for (int i = from; i < to; i += 2) {
+            pending[count++] = pack(intervals[i], intervals[i + 1]);
+          }
+        }
+      }
+      Arrays.sort(pending, 0, count);
+
+      // Merge overlapping and adjacent intervals into the pool
+      int runStart = (int) (pending[0] >>> 32);
+      int runEnd = (int) pending[0];
+      for (int i = 1; i <= count; i++) {
+        int nextStart = i < count ? (int) (pending[i] >>> 32) : Integer.MAX_VALUE;
+        if (i < count && nextStart <= runEnd + 1) {
+          runEnd = Math.max(runEnd, (int) pending[i]);
+          continue;
+        }
+        if (size + 2 > intervals.length) {
+          if (size + 2 > maxInts) {
+            throw new IllegalArgumentException("Reachability index needs more than " + maxBytes
+                + " bytes after " + c + " of " + componentCount + " components; query with a traversal instead");
+          }
+          intervals = Arrays.copyOf(intervals, (int) Math.min(maxInts, Math.min(Integer.MAX_VALUE - 8, 2L * intervals.length)));
+        }
+        intervals[size++] = runStart;
+        intervals[size++] = runEnd;
+        if (i < count) {
+          runStart = nextStart;
+          runEnd = (int) pending[i];
+        }
+      }
+      intervalStart[c + 1] = size;
+    }
+    return new ReachabilityIndex(component, intervalStart, Arrays.copyOf(intervals, size), System.nanoTime() - startTime);
+  }
+
+  private static long pack(int start, int end) {
+    return ((long) start << 32) | (end & 0xffffffffL);
+  }
+
+  /**
+   * Labels every vertex with its strongly connected component using an iterative version of
+   * Tarjan's algorithm. Components are numbered in the order they are completed.
+   *
+   * @param graph the graph
+   * @param component receives the component number of each vertex
+   * @return the number of components
+   */
+  private static int findComponents(IntGraph graph, int[] component) {
+    int n = graph.vertexCount();
+    int[] index = new int[n];
+    int[] low = new int[n];
+    int[] edgePos = new int[n];
+    boolean[] onStack = new boolean[n];
+    int[] sccStack = new int[n];
+    int[] callStack = new int[n];
+    Arrays.fill(index, -1);
+    int counter = 0;
+    int componentCount = 0;
+    int sccTop = 0;
+
+    for (int root = 0; root < n; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+      int callTop = 0;
+      index[root] = low[root] = counter++;
+      edgePos[root] = graph.firstEdge(root);
+      sccStack[sccTop++] = root;
+      onStack[root] = true;
+      callStack[callTop++] = root;
+
+      while (callTop > 0) {
+        int v = callStack[callTop - 1];
+        if (edgePos[v] < graph.endEdge(v)) {
+          int w = graph.target(edgePos[v]++);
+          if (index[w] == -1) {
+            index[w] = low[w] = counter++;
+            edgePos[w] = graph.firstEdge(w);
+            sccStack[sccTop++] = w;
+            onStack[w] = true;
+            callStack[callTop++] = w;
+          } else if (onStack[w]) {
+            low[v] = Math.min(low[v], index[w]);
+          }
+          continue;
+        }
+        callTop--;
+        if (callTop > 0) {
+          int parent = callStack[callTop - 1];
+          low[parent] = Math.min(low[parent], low[v]);
+        }
+        if (low[v] == index[v]) {
+          int member;
+          do {
+            member = sccStack[--sccTop];
+            onStack[member] = false;
+            component[member] = componentCount;
+          } while (member != v);
+          componentCount++;
+        }
+      }
+    }
+    return componentCount;
+  }
+
+  /**
+   * Determines whether the destination vertex can be reached from the start vertex.
+   * If the start and destination are the same, returns true.
+   *
+   * @param start the starting vertex id
+   * @param destination the destination vertex id
+   * @return true if the destination is reachable from the start, false otherwise
+   */
+  public boolean canReach(int start, int destination) {
+    if (start < 0 || destination < 0) {
+      return false;
+    }
+    int target = component[destination];
+    int c = component[start];
+    // Binary search for the last interval starting at or before the target
+    int low = intervalStart[c] / 2;
+    int high = intervalStart[c + 1] / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (intervals[2 * mid] <= target) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high >= intervalStart[c] / 2 && intervals[2 * high + 1] >= target;
+  }
+
+  /**
+   * Returns the strongly connected component a vertex belongs to.
+   *
+   * @param vertex the vertex id
+   * @return the component number
+   */
+  public int componentOf(int vertex) {
+    return component[vertex];
+  }
+
+  /**
+   * Returns the number of strongly connected components in the indexed graph.
+   *
+   * @return the component count
+   */
+  public int componentCount() {
+    return intervalStart.length - 1;
+  }
+
+  /**
+   * Returns the approximate memory held by the index, not counting object headers.
+   *
+   * @return the index size in bytes
+   */
+  public long sizeInBytes() {
+    return 4L * component.length + 4L * intervalStart.length + 4L * intervals.length;
+  }
+
+  /**
+   * Returns how long building the index took.
+   *
+   * @return the build time in nanoseconds
+   */
+  public long buildNanos() {
+    return buildNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "ReachabilityIndex{vertices=" + component.length
+        + ", components=" + componentCount()
+        + ", sizeBytes=" + sizeInBytes()
+        + ", buildMillis=" + buildNanos / 1_000_000.0 + "}";
+  }
+}
@@ -0,0 +1,51 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ReachabilityIndexTest {
+
+  @Test
+  public void testMatchesTraversal() {
+    CsrGraph<Integer> graph = CsrGraph.compile(CsrGraphTest.buildComplexMap());
+    ReachabilityIndex index = ReachabilityIndex.build(graph);
+    // {7, 12} and {56, 78, 91} are cycles; every other vertex is its own component
+    assertEquals(7, index.componentCount());
+    for (int from = 0; from < graph.vertexCount(); from++) {
+      for (int to = 0; to < graph.vertexCount(); to++) {
+        assertEquals(Build.canReach(graph, from, to), index.canReach(from, to));
+      }
+    }
+    assertTrue(index.sizeInBytes() > 0);
+  }
+
+  @Test
+  public void testRandomGraphMatchesTraversal() {
+    int[][] adjacency = GraphGenerators.generate(GraphGenerators.Shape.POWER_LAW, 400, 3);
+    CsrGraph<Integer> graph = CsrGraph.compile(GraphGenerators.toMap(adjacency));
+    ReachabilityIndex index = ReachabilityIndex.build(graph);
+    for (int from = 0; from < graph.vertexCount(); from += 7) {
+      for (int to = 0; to < graph.vertexCount(); to++) {
+        assertEquals(from + " -> " + to, Build.canReach(graph, from, to), index.canReach(from, to));
+      }
+    }
+  }
+
+  @Test
+  public void testChainStaysCompact() {
+    // A chain of singleton components would need n * n bits as a dense closure
+    int n = 200_000;
+    CsrGraph<Integer> graph = CsrGraph.compile(GraphGenerators.toMap(
+        GraphGenerators.generate(GraphGenerators.Shape.CHAIN, n, 1)));
+    ReachabilityIndex index = ReachabilityIndex.build(graph);
+    assertEquals(n, index.componentCount());
+    assertTrue(index.toString(), index.sizeInBytes() < 20L * n);
+    assertTrue(index.canReach(graph.idOf(0), graph.idOf(n - 1)));
+    assertFalse(index.canReach(graph.idOf(n - 1), graph.idOf(0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsIndexOverLimit() {
+    CsrGraph<Integer> graph = CsrGraph.compile(GraphGenerators.toMap(
+        GraphGenerators.generate(GraphGenerators.Shape.RANDOM, 2000, 1)));
+    ReachabilityIndex.build(graph, 64);
+  }
+}
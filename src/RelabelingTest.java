@@ -0,0 +1,72 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RelabelingTest {
+
+  @Test
+  public void testPreservesReachability() {
+    CsrGraph<Integer> graph = CsrGraph.compile(CsrGraphTest.buildComplexMap());
+    for (Relabeling.Order order : Relabeling.Order.values()) {
+      Relabeling<Integer> relabeling = Relabeling.of(graph, order);
+      CsrGraph<Integer> relabeled = relabeling.graph();
+      assertEquals(graph.edgeCount(), relabeled.edgeCount());
+      for (int from = 0; from < graph.vertexCount(); from++) {
+        int newFrom = relabeling.newId(from);
+        assertEquals(graph.payload(from), relabeled.payload(newFrom));
+        assertEquals(graph.degree(from), relabeled.degree(newFrom));
+        assertEquals(Build.unreachable(graph, from), Build.unreachable(relabeled, newFrom));
+      }
+    }
+  }
+
+  @Test
+  public void testImprovesShuffledChain() {
+    // A chain whose keys were created in a scrambled order
+    Map<Integer, List<Integer>> map = new LinkedHashMap<>();
+    int n = 1000;
+    for (int i = 0; i < n; i++) {
+      int key = (i * 389) % n;
+      map.put(key, key + 1 < n ? new ArrayList<>(Arrays.asList(key + 1)) : new ArrayList<>());
+    }
+    Relabeling<Integer> relabeling = Relabeling.of(CsrGraph.compile(map), Relabeling.Order.REVERSE_CUTHILL_MCKEE);
+    assertEquals(1.0, relabeling.gapAfter(), 0.0);
+    assertTrue(relabeling.localityGain() > 100);
+  }
+
+  @Test(timeout = 10_000)
+  public void testLargeHub() {
+    // One hub with 200k neighbors; every other neighbor links back to it. Sorting the hub's
+    // neighbors must not be quadratic in its degree
+    int leaves = 200_000;
+    Map<Integer, List<Integer>> map = new LinkedHashMap<>();
+    List<Integer> hub = new ArrayList<>(leaves);
+    map.put(0, hub);
+    for (int i = 1; i <= leaves; i++) {
+      hub.add(i);
+      map.put(i, i % 2 == 0 ? new ArrayList<>(Arrays.asList(0)) : new ArrayList<>());
+    }
+    CsrGraph<Integer> graph = CsrGraph.compile(map);
+    Relabeling<Integer> relabeling = Relabeling.of(graph, Relabeling.Order.REVERSE_CUTHILL_MCKEE);
+    assertEquals(graph.edgeCount(), relabeling.graph().edgeCount());
+
+    // The search starts at leaf 2, the first vertex of lowest non-zero degree, and then numbers
+    // the hub's other neighbors by ascending degree, keeping edge order within a degree. The
+    // reversal flips that: leaves without edges get higher ids than the other leaves that link
+    // back, in reverse edge order
+    int previous = Integer.MAX_VALUE;
+    for (int i = 1; i <= leaves; i += 2) {
+      int id = relabeling.newId(graph.idOf(i));
+      assertTrue(id < previous);
+      previous = id;
+    }
+    for (int i = 4; i <= leaves; i += 2) {
+      assertTrue(relabeling.newId(graph.idOf(i)) < previous);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Receives route changes made through {@link Airport#addRoute(Airport)} and
+ * {@link Airport#removeRoute(Airport)}. Called after the change has been applied.
+ */
+public interface RouteListener {
+
+  /**
+   * Called after a flight from one airport to another has been added.
+   *
+   * @param from the airport the flight leaves from
+   * @param to the airport the flight arrives at
+   */
+  void routeAdded(Airport from, Airport to);
+
+  /**
+   * Called after a flight from one airport to another has been removed.
+   *
+   * @param from the airport the flight left from
+   * @param to the airport the flight arrived at
+   */
+  void routeRemoved(Airport from, Airport to);
+}
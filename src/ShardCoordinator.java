@@ -0,0 +1,348 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reachability over a graph split across several worker processes, for edge-list graphs that
+ * do not fit in one heap. Vertices are assigned to shards by the hash of their key, and each
+ * shard is held by a {@link ShardWorker} process on the same machine.
+ *
+ * Queries run in supersteps. In each one the coordinator sends every shard with pending work
+ * its batch of frontier vertices; the shards expand their batches at the same time, each as
+ * far as it can without leaving the shard, and reply with the neighbors owned by other shards.
+ * Those become the next superstep's batches, and the query ends when no batches are left. Only
+ * keys cross process boundaries, and each shard forwards a key at most once per query.
+ *
+ * Results match {@link Build#unreachable(java.util.Map, Object)} on
+ * {@link EdgeListReader#readMap(Path)} of the same file. One query runs at a time.
+ */
+public class ShardCoordinator implements AutoCloseable {
+  private final List<Process> processes = new ArrayList<>();
+  private final List<Socket> sockets = new ArrayList<>();
+  private final List<DataInputStream> inputs = new ArrayList<>();
+  private final List<DataOutputStream> outputs = new ArrayList<>();
+  private final int shardCount;
+  private long supersteps;
+
+  private ShardCoordinator(int shardCount) {
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * Starts one worker process per shard on an edge-list file and connects to each of them.
+   *
+   * @param edgeList the edge-list file every worker reads its shard from
+   * @param shards the number of shards
+   * @return the connected coordinator
+   * @throws IOException if a worker cannot be started or reached
+   */
+  public static ShardCoordinator launch(Path edgeList, int shards) throws IOException {
+    return launch(edgeList, shards, Collections.emptyList());
+  }
+
+  /**
+   * Starts one worker process per shard on an edge-list file and connects to each of them.
+   * Workers run on the same Java installation and class path as this process.
+   *
+   * @param edgeList the edge-list file every worker reads its shard from
+   * @param shards the number of shards
+   * @param jvmOptions extra options for each worker JVM, such as {@code -Xmx2g}
+   * @return the connected coordinator
+   * @throws IOException if a worker cannot be started or reached
+   */
+  public static ShardCoordinator launch(Path edgeList, int shards, List<String> jvmOptions) throws IOException {
+    if (shards < 1) {
+      throw new IllegalArgumentException("shards must be positive: " + shards);
+    }
+    ShardCoordinator coordinator = new ShardCoordinator(shards);
+    try {
+      String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+      for (int s = 0; s < shards; s++) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classPath());
+        command.add(ShardWorker.class.getName());
+        command.add(edgeList.toAbsolutePath().toString());
+        command.add(String.valueOf(s));
+        command.add(String.valueOf(shards));
+        coordinator.processes.add(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start());
+      }
+      // Workers load their shards in parallel; connect to each once it reports its port
+      for (Process process : coordinator.processes) {
+        BufferedReader ready = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = ready.readLine();
+        if (line == null || !line.startsWith("READY ")) {
+          throw new IOException("Shard worker failed to start: " + line);
+        }
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(line.substring(6).trim()));
+        socket.setTcpNoDelay(true);
+        coordinator.sockets.add(socket);
+        coordinator.inputs.add(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+        coordinator.outputs.add(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+      }
+    } catch (IOException | RuntimeException e) {
+      coordinator.close();
+      throw e;
+    }
+    return coordinator;
+  }
+
+  /**
+   * Returns this process's class path plus the location {@link ShardWorker} was loaded from,
+   * which differs when running under a launcher with its own class loader.
+   */
+  private static String classPath() {
+    String classPath = System.getProperty("java.class.path");
+    try {
+      String own = new File(ShardWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+      return classPath.isEmpty() ? own : own + File.pathSeparator + classPath;
+    } catch (URISyntaxException | NullPointerException | SecurityException e) {
+      return classPath;
+    }
+  }
+
+  /**
+   * Returns the number of shards.
+   *
+   * @return the shard count
+   */
+  public int shardCount() {
+    return shardCount;
+  }
+
+  /**
+   * Returns the total number of supersteps run by all queries so far.
+   *
+   * @return the superstep count
+   */
+  public long supersteps() {
+    return supersteps;
+  }
+
+  /**
+   * Returns the set of all vertices that cannot be reached from the given starting vertex.
+   *
+   * @param starting the starting vertex key
+   * @return the keys of the unreachable vertices
+   * @throws IOException if a worker cannot be reached
+   */
+  public Set<String> unreachable(String starting) throws IOException {
+    search(starting, "");
+    for (DataOutputStream out : outputs) {
+      out.writeInt(ShardWorker.UNREACHABLE);
+      out.flush();
+    }
+    Set<String> unreachable = new HashSet<>();
+    for (DataInputStream in : inputs) {
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        unreachable.add(in.readUTF());
+      }
+    }
+    return unreachable;
+  }
+
+  /**
+   * Returns the number of vertices reachable from the given starting vertex, including itself,
+   * without sending the vertices themselves back.
+   *
+   * @param starting the starting vertex key
+   * @return the number of reachable vertices, or 0 if the start is not in the graph
+   * @throws IOException if a worker cannot be reached
+   */
+  public long reachableCount(String starting) throws IOException {
+    return search(starting, "")[1];
+  }
+
+  /**
+   * Determines whether the destination can be reached from the start. The search stops at the
+   * end of the first superstep in which a shard reaches the destination. If the start and
+   * destination are the same, returns true.
+   *
+   * @param start the starting vertex key
+   * @param destination the destination vertex key
+   * @return true if the destination is reachable from the start, false otherwise
+   * @throws IOException if a worker cannot be reached
+   */
+  public boolean canReach(String start, String destination) throws IOException {
+    if (start.equals(destination)) {
+      return true;
+    }
+    return search(start, destination)[0] != 0;
+  }
+
+  /**
+   * Runs one query to completion, or until the target is found.
+   *
+   * @return whether the target was found (0 or 1) and the number of vertices visited
+   */
+  private long[] search(String start, String target) throws IOException {
+    for (DataOutputStream out : outputs) {
+      out.writeInt(ShardWorker.RESET);
+      out.flush();
+    }
+    List<List<String>> batches = new ArrayList<>(shardCount);
+    for (int s = 0; s < shardCount; s++) {
+      batches.add(new ArrayList<>());
+    }
+    batches.get(ShardWorker.shardOf(start, shardCount)).add(start);
+    long visited = 0;
+    boolean found = false;
+    boolean pending = true;
+    while (pending && !found) {
+      supersteps++;
+      // Send every batch before reading any reply, so the shards expand at the same time.
+      // Workers read a whole request before replying, so this cannot deadlock.
+      boolean[] sent = new boolean[shardCount];
+      for (int s = 0; s < shardCount; s++) {
+        List<String> batch = batches.get(s);
+        if (batch.isEmpty()) {
+          continue;
+        }
+        DataOutputStream out = outputs.get(s);
+        out.writeInt(ShardWorker.EXPAND);
+        out.writeUTF(target);
+        out.writeInt(batch.size());
+        for (String key : batch) {
+          out.writeUTF(key);
+        }
+        out.flush();
+        batch.clear();
+        sent[s] = true;
+      }
+      pending = false;
+      for (int s = 0; s < shardCount; s++) {
+        if (!sent[s]) {
+          continue;
+        }
+        DataInputStream in = inputs.get(s);
+        found |= in.readBoolean();
+        visited += in.readInt();
+        for (int t = 0; t < shardCount; t++) {
+          int count = in.readInt();
+          List<String> batch = batches.get(t);
+          for (int i = 0; i < count; i++) {
+            batch.add(in.readUTF());
+          }
+          pending |= count > 0;
+        }
+      }
+    }
+    return new long[] {found ? 1 : 0, visited};
+  }
+
+  /**
+   * Tells every worker to exit and waits briefly for the processes to end.
+   */
+  @Override
+  public void close() {
+    for (DataOutputStream out : outputs) {
+      try {
+        out.writeInt(ShardWorker.QUIT);
+        out.flush();
+      } catch (IOException e) {
+        // The worker is already gone
+      }
+    }
+    for (Socket socket : sockets) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // Nothing left to release
+      }
+    }
+    for (Process process : processes) {
+      try {
+        if (!process.waitFor(5, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (InterruptedException e) {
+        process.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Picks random source vertices from an edge-list file in one streaming pass, so the
+   * coordinator never loads the graph itself.
+   */
+  private static List<String> sampleSources(Path path, int count) throws IOException {
+    List<String> sample = new ArrayList<>(count);
+    Random random = new Random(42);
+    long seen = 0;
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = ShardWorker.parseLine(line);
+        if (fields == null || fields[0].isEmpty()) {
+          continue;
+        }
+        seen++;
+        if (sample.size() < count) {
+          sample.add(fields[0]);
+        } else {
+          long slot = (long) (random.nextDouble() * seen);
+          if (slot < count) {
+            sample.set((int) slot, fields[0]);
+          }
+        }
+      }
+    }
+    return sample;
+  }
+
+  /**
+   * Measures query throughput on an edge-list file with 1, 2, 4, ... shards up to the given
+   * count. Each query counts the vertices reachable from a different starting vertex.
+   * Usage: {@code ShardCoordinator <edge-list file> [max shards] [queries per shard count]}.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: ShardCoordinator <edge-list file> [max shards] [queries per shard count]");
+      System.exit(2);
+    }
+    Path path = Paths.get(args[0]);
+    int maxShards = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    int queries = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+    List<String> starts = sampleSources(path, queries);
+    if (starts.isEmpty()) {
+      System.err.println("Empty graph");
+      System.exit(1);
+    }
+    for (int shards = 1; shards <= maxShards; shards *= 2) {
+      try (ShardCoordinator coordinator = launch(path, shards)) {
+        coordinator.reachableCount(starts.get(0));
+        long reached = 0;
+        long begin = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+          reached += coordinator.reachableCount(starts.get(q % starts.size()));
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.println(String.format("shards=%-3d queries/s=%-10.2f vertices/s=%-14.0f supersteps/query=%.1f",
+            shards, queries / seconds, reached / seconds, (double) coordinator.supersteps() / (queries + 1)));
+      }
+    }
+  }
+}
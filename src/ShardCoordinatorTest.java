@@ -0,0 +1,61 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class ShardCoordinatorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path writeRandomGraph(int vertices) throws IOException {
+    int[][] adjacency = GraphGenerators.generate(GraphGenerators.Shape.POWER_LAW, vertices, 7);
+    StringBuilder contents = new StringBuilder("# generated\n");
+    for (int v = 0; v < adjacency.length; v++) {
+      if (adjacency[v].length == 0) {
+        contents.append("v").append(v).append('\n');
+      }
+      for (int w : adjacency[v]) {
+        contents.append("v").append(v).append(v % 2 == 0 ? "," : "\t").append("v").append(w).append('\n');
+      }
+    }
+    Path file = folder.newFile().toPath();
+    Files.write(file, contents.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void testUnreachable_MatchesSingleProcess() throws IOException {
+    Path file = writeRandomGraph(300);
+    Map<String, List<String>> graph = EdgeListReader.readMap(file);
+    try (ShardCoordinator coordinator = ShardCoordinator.launch(file, 3)) {
+      for (String start : new String[] {"v0", "v17", "v150", "v299", "missing"}) {
+        assertEquals(start, Build.unreachable(graph, start), coordinator.unreachable(start));
+        long reachable = graph.containsKey(start) ? graph.size() - Build.unreachable(graph, start).size() : 0;
+        assertEquals(start, reachable, coordinator.reachableCount(start));
+      }
+      assertTrue(coordinator.supersteps() > 5);
+    }
+  }
+
+  @Test
+  public void testCanReach_MatchesSingleProcess() throws IOException {
+    Path file = writeRandomGraph(120);
+    CsrGraph<String> graph = EdgeListReader.read(file);
+    try (ShardCoordinator coordinator = ShardCoordinator.launch(file, 2)) {
+      for (int from = 0; from < graph.vertexCount(); from += 13) {
+        for (int to = 0; to < graph.vertexCount(); to += 17) {
+          assertEquals(graph.payload(from) + " -> " + graph.payload(to), Build.canReach(graph, from, to),
+              coordinator.canReach(graph.payload(from), graph.payload(to)));
+        }
+      }
+    }
+  }
+}
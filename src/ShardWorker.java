@@ -0,0 +1,271 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One shard of a graph too large for a single heap, run as its own process by
+ * {@link ShardCoordinator}. A worker reads the same edge-list file as every other worker but
+ * keeps only the vertices that hash to its shard, together with their outgoing edges, so each
+ * process holds about {@code 1 / shardCount} of the graph.
+ *
+ * The worker listens on a loopback port, prints {@code READY <port>} on standard output once
+ * the graph is loaded, and then serves one coordinator connection until it closes. Each
+ * request expands a batch of frontier vertices as far as possible inside the shard and returns
+ * the neighbors owned by other shards, grouped by shard, for the coordinator to forward.
+ * Usage: {@code ShardWorker <edge-list file> <shard> <shard count>}.
+ */
+public class ShardWorker {
+  static final int RESET = 0;
+  static final int EXPAND = 1;
+  static final int UNREACHABLE = 2;
+  static final int QUIT = 3;
+
+  /** How long to wait for the coordinator to connect before giving up. */
+  private static final int ACCEPT_TIMEOUT_MILLIS = 60_000;
+  private static final String[] NO_NEIGHBORS = new String[0];
+
+  private final int shard;
+  private final int shardCount;
+  private final Map<String, String[]> adjacency;
+  private final Set<String> visited = new HashSet<>();
+  private final Set<String> forwarded = new HashSet<>();
+
+  ShardWorker(int shard, int shardCount, Map<String, String[]> adjacency) {
+    this.shard = shard;
+    this.shardCount = shardCount;
+    this.adjacency = adjacency;
+  }
+
+  /**
+   * Returns the shard that owns a vertex. String hash codes are fixed by the language, so every
+   * process agrees on the owner.
+   *
+   * @param key the vertex key
+   * @param shardCount the number of shards
+   * @return the owning shard
+   */
+  static int shardOf(String key, int shardCount) {
+    return Math.floorMod(key.hashCode(), shardCount);
+  }
+
+  /**
+   * Reads the vertices of one shard from an edge-list file, using the same line format as
+   * {@link EdgeListReader}. Every vertex becomes a key, including those that only appear as
+   * targets.
+   *
+   * @param path the edge-list file
+   * @param shard the shard to keep
+   * @param shardCount the number of shards
+   * @return the shard's vertices and their outgoing edges
+   * @throws IOException if the file cannot be read
+   */
+  static Map<String, String[]> load(Path path, int shard, int shardCount) throws IOException {
+    Map<String, List<String>> lists = new HashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = parseLine(line);
+        if (fields == null) {
+          continue;
+        }
+        String from = fields[0];
+        String to = fields[1];
+        if (!from.isEmpty() && shardOf(from, shardCount) == shard) {
+          List<String> neighbors = lists.computeIfAbsent(from, k -> new ArrayList<>(2));
+          if (!to.isEmpty()) {
+            neighbors.add(to);
+          }
+        }
+        if (!to.isEmpty() && shardOf(to, shardCount) == shard) {
+          lists.computeIfAbsent(to, k -> new ArrayList<>(2));
+        }
+      }
+    }
+    Map<String, String[]> adjacency = new HashMap<>(lists.size() * 2);
+    for (Map.Entry<String, List<String>> entry : lists.entrySet()) {
+      List<String> neighbors = entry.getValue();
+      adjacency.put(entry.getKey(), neighbors.isEmpty() ? NO_NEIGHBORS : neighbors.toArray(NO_NEIGHBORS));
+    }
+    return adjacency;
+  }
+
+  /**
+   * Splits an edge-list line into its source and target keys, either of which may be empty.
+   *
+   * @param line the line, without its newline
+   * @return the two keys, or null if the line is blank or a comment
+   */
+  static String[] parseLine(String line) {
+    if (line.isEmpty() || line.charAt(0) == '#') {
+      return null;
+    }
+    int separator = -1;
+    for (int i = 0; i < line.length(); i++) {
+      if (line.charAt(i) == ',' || line.charAt(i) == '\t') {
+        separator = i;
+        break;
+      }
+    }
+    String from = trim(separator < 0 ? line : line.substring(0, separator));
+    String to = separator < 0 ? "" : trim(line.substring(separator + 1));
+    return new String[] {from, to};
+  }
+
+  /**
+   * Strips spaces and a trailing carriage return, as {@link EdgeListReader} does.
+   */
+  private static String trim(String field) {
+    int from = 0;
+    int to = field.length();
+    if (to > 0 && field.charAt(to - 1) == '\r') {
+      to--;
+    }
+    while (from < to && field.charAt(from) == ' ') {
+      from++;
+    }
+    while (to > from && field.charAt(to - 1) == ' ') {
+      to--;
+    }
+    return field.substring(from, to);
+  }
+
+  /**
+   * Serves requests until the coordinator sends {@link #QUIT} or closes the connection.
+   */
+  void serve(DataInputStream in, DataOutputStream out) throws IOException {
+    while (true) {
+      int command;
+      try {
+        command = in.readInt();
+      } catch (EOFException e) {
+        return;
+      }
+      switch (command) {
+        case RESET:
+          visited.clear();
+          forwarded.clear();
+          break;
+        case EXPAND:
+          expand(in, out);
+          break;
+        case UNREACHABLE:
+          unreachable(out);
+          break;
+        case QUIT:
+          return;
+        default:
+          throw new IOException("Unknown command " + command);
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * Request: target key (empty for none), batch size, batch keys. Response: whether the target
+   * was reached, the number of this shard's vertices newly visited, then for each shard the
+   * number of keys to forward to it followed by the keys. Keys already forwarded during this
+   * query are not sent again.
+   */
+  private void expand(DataInputStream in, DataOutputStream out) throws IOException {
+    String target = in.readUTF();
+    int count = in.readInt();
+    ArrayDeque<String> queue = new ArrayDeque<>();
+    boolean found = false;
+    int newlyVisited = 0;
+    for (int i = 0; i < count; i++) {
+      String key = in.readUTF();
+      if (visited.add(key)) {
+        queue.add(key);
+      }
+    }
+    List<List<String>> outgoing = new ArrayList<>(shardCount);
+    for (int s = 0; s < shardCount; s++) {
+      outgoing.add(new ArrayList<>());
+    }
+    while (!queue.isEmpty() && !found) {
+      String key = queue.poll();
+      String[] neighbors = adjacency.get(key);
+      if (neighbors == null) {
+        // Only a start value that is not in the graph at all lands here
+        continue;
+      }
+      newlyVisited++;
+      if (key.equals(target)) {
+        found = true;
+        break;
+      }
+      for (String neighbor : neighbors) {
+        int owner = shardOf(neighbor, shardCount);
+        if (owner == shard) {
+          if (visited.add(neighbor)) {
+            queue.add(neighbor);
+          }
+        } else if (forwarded.add(neighbor)) {
+          outgoing.get(owner).add(neighbor);
+        }
+      }
+    }
+    out.writeBoolean(found);
+    out.writeInt(newlyVisited);
+    for (List<String> keys : outgoing) {
+      out.writeInt(keys.size());
+      for (String key : keys) {
+        out.writeUTF(key);
+      }
+    }
+  }
+
+  /**
+   * Response: the number of this shard's vertices not visited by the current query, then the keys.
+   */
+  private void unreachable(DataOutputStream out) throws IOException {
+    List<String> keys = new ArrayList<>();
+    for (String key : adjacency.keySet()) {
+      if (!visited.contains(key)) {
+        keys.add(key);
+      }
+    }
+    out.writeInt(keys.size());
+    for (String key : keys) {
+      out.writeUTF(key);
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: ShardWorker <edge-list file> <shard> <shard count>");
+      System.exit(2);
+    }
+    int shard = Integer.parseInt(args[1]);
+    int shardCount = Integer.parseInt(args[2]);
+    ShardWorker worker = new ShardWorker(shard, shardCount, load(Paths.get(args[0]), shard, shardCount));
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+      System.out.println("READY " + server.getLocalPort());
+      System.out.flush();
+      try (Socket socket = server.accept()) {
+        socket.setTcpNoDelay(true);
+        worker.serve(new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+            new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+      }
+    }
+  }
+}
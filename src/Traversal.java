@@ -0,0 +1,219 @@
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterative depth-first traversal over any graph whose neighbors can be looked up per node.
+ * Uses an explicit work stack instead of recursion, so graphs of any depth can be traversed
+ * without risking a StackOverflowError.
+ *
+ * The visited set and work stack are kept between runs so one instance can be reused for
+ * many queries over the same graph. Call {@link #reset()} before starting an unrelated query.
+ * Nodes are marked visited when they are discovered; when a run is stopped early, or an
+ * iterator is abandoned before it is exhausted, the nodes discovered but not yet reached are
+ * unmarked again, so a later run over the same visited state still reaches them.
+ *
+ * Visited nodes are kept in a hash set, which suits lazy streams that may stop after a few
+ * nodes. Searches that cover the whole reachable graph are cheaper on a {@link CsrGraph} with
+ * {@link CsrTraversal}, which marks dense ids in a flat array.
+ *
+ * @param <N> the type of nodes in the graph
+ */
+public class Traversal<N> {
+  private final String name;
+  private final Function<? super N, ? extends Iterable<? extends N>> neighbors;
+  private final Set<N> visited = new HashSet<>();
+  private final Deque<N> stack = new ArrayDeque<>();
+
+  /**
+   * Creates a traversal that looks up the neighbors of a node with the given function.
+   * The function may return null for nodes without neighbors.
+   *
+   * @param neighbors returns the neighbors of a node
+   */
+  public Traversal(Function<? super N, ? extends Iterable<? extends N>> neighbors) {
+    this("traversal", neighbors);
+  }
+
+  /**
+   * Creates a traversal with a name, which labels its counters when instrumentation is on.
+   *
+   * @param name the operation name reported to {@link TraversalMetrics}
+   * @param neighbors returns the neighbors of a node
+   */
+  public Traversal(String name, Function<? super N, ? extends Iterable<? extends N>> neighbors) {
+    this.name = name;
+    this.neighbors = neighbors;
+  }
+
+  /**
+   * Visits every node reachable from the given start node that has not already been visited
+   * by this traversal, calling the visitor once per node. If the visitor returns false the
+   * traversal stops immediately.
+   *
+   * @param start the starting node, ignored if null
+   * @param visitor called for each newly visited node; returns false to stop the traversal
+   * @return true if the traversal ran to completion, false if the visitor stopped it early
+   */
+  public boolean run(N start, Predicate<? super N> visitor) {
+    // Unmark whatever an abandoned iterator left discovered before checking the start
+    abandon();
+    if (start == null || !visited.add(start)) {
+      return true;
+    }
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    long visitedCount = 0;
+    long edges = 0;
+    long revisits = 0;
+    int maxFrontier = 1;
+    boolean completed = true;
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      N current = stack.pop();
+      visitedCount++;
+      if (!visitor.test(current)) {
+        abandon();
+        completed = false;
+        break;
+      }
+      Iterable<? extends N> next = neighbors.apply(current);
+      if (next != null) {
+        for (N neighbor : next) {
+          // Null entries are not edges
+          if (neighbor == null) {
+            continue;
+          }
+          edges++;
+          if (visited.add(neighbor)) {
+            stack.push(neighbor);
+          } else {
+            revisits++;
+          }
+        }
+      }
+      maxFrontier = Math.max(maxFrontier, stack.size());
+    }
+    if (recorder != null) {
+      recorder.record(new TraversalStats(name, visitedCount, edges, revisits, maxFrontier,
+          System.nanoTime() - startNanos));
+    }
+    return completed;
+  }
+
+  /**
+   * Returns a lazy iterator over every node reachable from the given start node that has not
+   * already been visited by this traversal. Each call to {@code next()} advances the traversal
+   * by one node, so consumers that stop early never pay for the rest of the graph. The iterator
+   * shares this traversal's state; do not run another query until it is exhausted or abandoned.
+   * Starting another query abandons it, unmarking the nodes it discovered but did not return.
+   * With instrumentation on, the counters are reported once the iterator is exhausted.
+   *
+   * @param start the starting node, or null for an empty iterator
+   * @return an iterator over the newly reached nodes in depth-first order
+   */
+  public Iterator<N> iterator(N start) {
+    abandon();
+    if (start != null && visited.add(start)) {
+      stack.push(start);
+    }
+    TraversalRecorder recorder = TraversalMetrics.recorder();
+    long startNanos = recorder == null ? 0 : System.nanoTime();
+    return new Iterator<N>() {
+      private long visitedCount;
+      private long edges;
+      private long revisits;
+      private int maxFrontier = stack.size();
+      private boolean recorded = recorder == null;
+
+      @Override
+      public boolean hasNext() {
+        if (stack.isEmpty()) {
+          if (!recorded) {
+            recorded = true;
+            recorder.record(new TraversalStats(name, visitedCount, edges, revisits, maxFrontier,
+                System.nanoTime() - startNanos));
+          }
+          return false;
+        }
+        return true;
+      }
+
+      @Override
+      public N next() {
+        if (stack.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        N current = stack.pop();
+        visitedCount++;
+        Iterable<? extends N> next = neighbors.apply(current);
+        if (next != null) {
+          for (N neighbor : next) {
+            if (neighbor == null) {
+              continue;
+            }
+            edges++;
+            if (visited.add(neighbor)) {
+              stack.push(neighbor);
+            } else {
+              revisits++;
+            }
+          }
+        }
+        maxFrontier = Math.max(maxFrontier, stack.size());
+        return current;
+      }
+    };
+  }
+
+  /**
+   * Empties the work stack, unmarking the nodes on it: they were discovered by a run that
+   * stopped early or an iterator that was abandoned, and were never reached.
+   */
+  private void abandon() {
+    while (!stack.isEmpty()) {
+      visited.remove(stack.pop());
+    }
+  }
+
+  /**
+   * Returns a lazy stream over every node reachable from the given start node that has not
+   * already been visited by this traversal. Short-circuiting operations such as
+   * {@code findFirst} or {@code limit} stop the traversal early.
+   *
+   * @param start the starting node, or null for an empty stream
+   * @return a sequential stream of the newly reached nodes in depth-first order
+   * @see #iterator(Object)
+   */
+  public Stream<N> stream(N start) {
+    int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(start), characteristics), false);
+  }
+
+  /**
+   * Returns a read-only view of every node marked visited since the last reset.
+   *
+   * @return the visited nodes
+   */
+  public Set<N> visited() {
+    return Collections.unmodifiableSet(visited);
+  }
+
+  /**
+   * Forgets every visited node so the traversal can be reused for a new query.
+   */
+  public void reset() {
+    visited.clear();
+    stack.clear();
+  }
+}
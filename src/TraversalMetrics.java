@@ -0,0 +1,34 @@
+/**
+ * Global switch for traversal instrumentation. While no recorder is installed, traversals only
+ * keep a few local counters and never read the clock or allocate, so the instrumentation can be
+ * left compiled in on production paths.
+ *
+ * {@link Traversal} and {@link CsrTraversal} report one {@link TraversalStats} per call to
+ * {@code run}, which covers every {@link Build} method that runs on them. The {@link Build}
+ * searches with loops of their own, such as {@code minHops} and {@code unreachableParallel},
+ * report one per call as well; for breadth-first searches the frontier is a level.
+ */
+public final class TraversalMetrics {
+  private static volatile TraversalRecorder recorder;
+
+  private TraversalMetrics() {
+  }
+
+  /**
+   * Installs the recorder that receives traversal counters, replacing any previous one.
+   *
+   * @param newRecorder the recorder, or null to turn instrumentation off
+   */
+  public static void setRecorder(TraversalRecorder newRecorder) {
+    recorder = newRecorder;
+  }
+
+  /**
+   * Returns the installed recorder.
+   *
+   * @return the recorder, or null if instrumentation is off
+   */
+  public static TraversalRecorder recorder() {
+    return recorder;
+  }
+}
@@ -0,0 +1,14 @@
+/**
+ * Receives the counters of every finished traversal while installed with
+ * {@link TraversalMetrics#setRecorder(TraversalRecorder)}. Called on the thread that ran the
+ * traversal, so implementations must be thread-safe and should return quickly.
+ */
+public interface TraversalRecorder {
+
+  /**
+   * Records one finished traversal.
+   *
+   * @param stats the traversal's counters
+   */
+  void record(TraversalStats stats);
+}
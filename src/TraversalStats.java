@@ -0,0 +1,65 @@
+/**
+ * Counters describing one traversal, reported to the {@link TraversalRecorder} installed with
+ * {@link TraversalMetrics#setRecorder(TraversalRecorder)}.
+ */
+public final class TraversalStats {
+  private final String operation;
+  private final long verticesVisited;
+  private final long edgesScanned;
+  private final long revisitsAvoided;
+  private final int maxFrontier;
+  private final long wallNanos;
+
+  /**
+   * Creates a set of traversal counters.
+   *
+   * @param operation the name of the traversal, such as the {@link Build} method that ran it
+   * @param verticesVisited the number of vertices handed to the visitor
+   * @param edgesScanned the number of edges followed
+   * @param revisitsAvoided the number of edges that led to an already visited vertex
+   * @param maxFrontier the largest size the work stack reached
+   * @param wallNanos the elapsed wall-clock time in nanoseconds
+   */
+  public TraversalStats(String operation, long verticesVisited, long edgesScanned, long revisitsAvoided,
+                        int maxFrontier, long wallNanos) {
+    this.operation = operation;
+    this.verticesVisited = verticesVisited;
+    this.edgesScanned = edgesScanned;
+    this.revisitsAvoided = revisitsAvoided;
+    this.maxFrontier = maxFrontier;
+    this.wallNanos = wallNanos;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public long getVerticesVisited() {
+    return verticesVisited;
+  }
+
+  public long getEdgesScanned() {
+    return edgesScanned;
+  }
+
+  public long getRevisitsAvoided() {
+    return revisitsAvoided;
+  }
+
+  public int getMaxFrontier() {
+    return maxFrontier;
+  }
+
+  public long getWallNanos() {
+    return wallNanos;
+  }
+
+  @Override
+  public String toString() {
+    return operation + "{visited=" + verticesVisited
+        + ", edges=" + edgesScanned
+        + ", revisitsAvoided=" + revisitsAvoided
+        + ", maxFrontier=" + maxFrontier
+        + ", wallNanos=" + wallNanos + "}";
+  }
+}
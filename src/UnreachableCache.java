@@ -0,0 +1,361 @@
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache of {@link Build#unreachable(Map, Object)} results for jobs that ask about the same few
+ * starting values over and over. Entries are keyed by graph version and start, and the whole
+ * cache is dropped as soon as a different version is queried, so a stale answer is never
+ * returned as long as the caller bumps the version whenever it edits the graph.
+ *
+ * Each graph version is compiled once into a {@link CsrGraph}, and results are kept as sorted
+ * arrays of dense vertex ids: either the unreachable vertices or, when more than half the graph
+ * is unreachable, the reachable ones, so an entry never needs more than two bytes per vertex of
+ * the graph. Results are returned as immutable sets that read those arrays directly. Memory is
+ * bounded by an approximate byte budget, evicting the least recently used entries first. A graph
+ * the cache compiled itself counts toward the budget too; results that do not fit next to it are
+ * returned without being cached.
+ *
+ * All methods are thread-safe. Compiling and traversals run outside the lock, so two threads
+ * missing on the same key, or seeing the same new version, at once may both compute it; the
+ * first to finish is kept.
+ *
+ * @param <T> the type of values stored in the graph
+ */
+public final class UnreachableCache<T> {
+  /** Rough per-entry cost of the map node, key, and result object. */
+  private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+  private final long maxBytes;
+  private final LinkedHashMap<Key, CompactSet<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private Object source;
+  private long version;
+  private CsrGraph<T> graph;
+  private int keyCount;
+  private long graphWeight;
+  private long weight;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long invalidations;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxBytes the approximate most memory the cached results and compiled graph may use
+   */
+  public UnreachableCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Cache key: one start in one graph version.
+   */
+  private static final class Key {
+    final long version;
+    final Object start;
+
+    Key(long version, Object start) {
+      this.version = version;
+      this.start = start;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return version == other.version && Objects.equals(start, other.start);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(version) * 31 + Objects.hashCode(start);
+    }
+  }
+
+  /**
+   * Returns the same set as {@link Build#unreachable(Map, Object)}, from the cache when
+   * possible. The caller must pass a new version number whenever the graph has changed.
+   *
+   * @param graph the graph represented as a map of vertices to neighbors
+   * @param version the graph's current version
+   * @param starting the starting value
+   * @return an immutable set of values that cannot be reached from the starting value
+   */
+  public Set<T> unreachable(Map<T, List<T>> graph, long version, T starting) {
+    return lookup(graph, version, starting, () -> CsrGraph.compile(graph), graph.size(), true);
+  }
+
+  /**
+   * Returns the same set as {@link GraphSnapshot#unreachable(Object)}, from the cache when
+   * possible. Snapshots never change, so their version number is used as is.
+   *
+   * @param snapshot the graph snapshot
+   * @param starting the starting payload
+   * @return an immutable set of payloads that cannot be reached from the start
+   */
+  public Set<T> unreachable(GraphSnapshot<T> snapshot, T starting) {
+    return lookup(snapshot, snapshot.version(), starting, snapshot::graph, snapshot.graph().keyCount(), false);
+  }
+
+  /**
+   * Compiles a graph version when it is first seen.
+   */
+  private interface Compiler<T> {
+    CsrGraph<T> compile();
+  }
+
+  private Set<T> lookup(Object graphSource, long graphVersion, T starting, Compiler<T> compiler, int keys,
+      boolean owned) {
+    Key key = new Key(graphVersion, starting);
+    CsrGraph<T> compiled = null;
+    int compiledKeys = 0;
+    synchronized (this) {
+      if (isCurrent(graphSource, graphVersion)) {
+        CompactSet<T> cached = entries.get(key);
+        if (cached != null) {
+          hits++;
+          return cached;
+        }
+        compiled = graph;
+        compiledKeys = keyCount;
+      }
+      misses++;
+    }
+
+    if (compiled == null) {
+      CsrGraph<T> fresh = compiler.compile();
+      synchronized (this) {
+        // Another thread may have published this version while we compiled; keep the first
+        if (!isCurrent(graphSource, graphVersion)) {
+          invalidate();
+          source = graphSource;
+          version = graphVersion;
+          graph = fresh;
+          keyCount = keys;
+          graphWeight = owned ? fresh.sizeInBytes() : 0;
+          weight = graphWeight;
+        }
+        compiled = graph;
+        compiledKeys = keyCount;
+      }
+    }
+
+    CompactSet<T> result = compute(compiled, compiledKeys, compiled.idOf(starting));
+    synchronized (this) {
+      if (compiled == graph && graphWeight + result.weight() <= maxBytes && !entries.containsKey(key)) {
+        entries.put(key, result);
+        weight += result.weight();
+        Iterator<CompactSet<T>> eldest = entries.values().iterator();
+        while (weight > maxBytes) {
+          weight -= eldest.next().weight();
+          eldest.remove();
+          evictions++;
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean isCurrent(Object graphSource, long graphVersion) {
+    return graph != null && graphSource == source && graphVersion == version;
+  }
+
+  /**
+   * Runs the traversal and keeps whichever side of the answer is smaller. Only the first
+   * {@code keys} ids count as vertices of the graph; the rest are values that only ever appear
+   * as neighbors, which {@link Build#unreachable(Map, Object)} does not report.
+   */
+  private static <T> CompactSet<T> compute(CsrGraph<T> graph, int keys, int start) {
+    int[] unreachable = Build.unreachableIds(graph, start);
+    int count = 0;
+    while (count < unreachable.length && unreachable[count] < keys) {
+      count++;
+    }
+    if (count <= keys / 2) {
+      return new CompactSet<>(graph, keys, Arrays.copyOf(unreachable, count), false);
+    }
+    int[] reachable = new int[keys - count];
+    int next = 0;
+    int u = 0;
+    for (int v = 0; v < keys; v++) {
+      if (u < count && unreachable[u] == v) {
+        u++;
+      } else {
+        reachable[next++] = v;
+      }
+    }
+    return new CompactSet<>(graph, keys, reachable, true);
+  }
+
+  /**
+   * Drops every cached result.
+   */
+  public synchronized void invalidate() {
+    if (!entries.isEmpty()) {
+      invalidations++;
+    }
+    entries.clear();
+    weight = 0;
+    graphWeight = 0;
+    graph = null;
+    source = null;
+  }
+
+  /**
+   * Returns how many lookups were answered from the cache.
+   *
+   * @return the hit count
+   */
+  public synchronized long hits() {
+    return hits;
+  }
+
+  /**
+   * Returns how many lookups had to run a traversal.
+   *
+   * @return the miss count
+   */
+  public synchronized long misses() {
+    return misses;
+  }
+
+  /**
+   * Returns the fraction of lookups answered from the cache.
+   *
+   * @return the hit rate, or 0 if nothing was looked up
+   */
+  public synchronized double hitRate() {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Returns how many results were evicted to stay within the byte budget.
+   *
+   * @return the eviction count
+   */
+  public synchronized long evictions() {
+    return evictions;
+  }
+
+  /**
+   * Returns how many times cached results were dropped because of a version change or an
+   * explicit {@link #invalidate()}.
+   *
+   * @return the invalidation count
+   */
+  public synchronized long invalidations() {
+    return invalidations;
+  }
+
+  /**
+   * Returns the number of cached results.
+   *
+   * @return the entry count
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the approximate memory used by the cached results and the graph compiled for them.
+   *
+   * @return the weight in bytes
+   */
+  public synchronized long weightBytes() {
+    return weight;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("UnreachableCache{entries=%d, bytes=%d/%d, hits=%d, misses=%d, hitRate=%.3f, evictions=%d}",
+        entries.size(), weight, maxBytes, hits, misses, hitRate(), evictions);
+  }
+
+  /**
+   * Immutable set of payloads backed by a sorted array of vertex ids, holding either the
+   * members themselves or, when {@code complement} is set, the ids below {@code keys} that are
+   * not members.
+   */
+  private static final class CompactSet<T> extends AbstractSet<T> {
+    private final CsrGraph<T> graph;
+    private final int keys;
+    private final int[] ids;
+    private final boolean complement;
+
+    CompactSet(CsrGraph<T> graph, int keys, int[] ids, boolean complement) {
+      this.graph = graph;
+      this.keys = keys;
+      this.ids = ids;
+      this.complement = complement;
+    }
+
+    long weight() {
+      return ENTRY_OVERHEAD_BYTES + (long) ids.length * Integer.BYTES;
+    }
+
+    @Override
+    public int size() {
+      return complement ? keys - ids.length : ids.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      int id = graph.idOf((T) o);
+      return id >= 0 && id < keys && (Arrays.binarySearch(ids, id) >= 0) != complement;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+        // Next id to return, and for complements the position in ids of the next id to skip
+        private int skip;
+        private int index;
+
+        {
+          index = complement ? advance(0) : 0;
+        }
+
+        private int advance(int from) {
+          int v = from;
+          while (skip < ids.length && ids[skip] == v) {
+            skip++;
+            v++;
+          }
+          return v;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return complement ? index < keys : index < ids.length;
+        }
+
+        @Override
+        public T next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          if (!complement) {
+            return graph.payload(ids[index++]);
+          }
+          T value = graph.payload(index);
+          index = advance(index + 1);
+          return value;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * Visited-state for traversals over graphs whose vertices are dense int ids from 0 to
+ * {@code capacity() - 1}.
+ */
+public interface VisitedSet {
+
+  /**
+   * Marks a vertex as visited.
+   *
+   * @param id the vertex id
+   * @return true if the vertex was not visited before this call
+   */
+  boolean mark(int id);
+
+  /**
+   * Returns whether a vertex has been marked since the last clear.
+   *
+   * @param id the vertex id
+   * @return true if the vertex has been visited
+   */
+  boolean isMarked(int id);
+
+  /**
+   * Unmarks a single vertex, so a traversal can give back vertices it discovered but never
+   * reached.
+   *
+   * @param id the vertex id
+   */
+  void unmark(int id);
+
+  /**
+   * Unmarks every vertex.
+   */
+  void clear();
+
+  /**
+   * Returns the number of vertex ids this set can track.
+   *
+   * @return the capacity
+   */
+  int capacity();
+}
@@ -0,0 +1,55 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class VisitedSetTest {
+
+  private void checkMarkAndClear(VisitedSet visited) {
+    assertTrue(visited.mark(0));
+    assertTrue(visited.mark(64));
+    assertTrue(visited.mark(129));
+    assertFalse(visited.mark(64));
+    assertTrue(visited.isMarked(129));
+    assertFalse(visited.isMarked(1));
+    visited.clear();
+    assertFalse(visited.isMarked(0));
+    assertFalse(visited.isMarked(64));
+    assertTrue(visited.mark(64));
+  }
+
+  @Test
+  public void testBitsetVisited() {
+    checkMarkAndClear(new BitsetVisited(130));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testBitsetVisited_RejectsIdPastCapacity() {
+    // 130 bits take three words, so id 130 would otherwise fit in the last one
+    new BitsetVisited(130).mark(130);
+  }
+
+  @Test
+  public void testEpochVisited() {
+    checkMarkAndClear(new EpochVisited(130));
+  }
+
+  @Test
+  public void testEpochVisited_ManyClears() {
+    EpochVisited visited = new EpochVisited(4);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(visited.mark(i % 4));
+      visited.clear();
+    }
+  }
+
+  @Test
+  public void testReusedTraversal() {
+    Vertex<String> a = new Vertex<>("a");
+    Vertex<String> b = new Vertex<>("b");
+    a.neighbors.add(b);
+    CsrGraph<String> graph = CsrGraph.compile(a);
+    CsrTraversal traversal = new CsrTraversal(graph, new BitsetVisited(graph.vertexCount()));
+    assertTrue(Build.canReach(traversal, 0, 1));
+    assertFalse(Build.canReach(traversal, 1, 0));
+    assertTrue(Build.canReach(traversal, 0, 1));
+  }
+}
@@ -0,0 +1,138 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the words reachable from one root vertex, bucketed by length, for answering
+ * {@code printShortWords}- and {@code longestWord}-style queries repeatedly without
+ * re-traversing the graph.
+ *
+ * The index is built on the first query. Words are kept in one array sorted by length, so the
+ * words shorter than any k are a prefix of it: a threshold query costs time proportional to the
+ * number of words it returns, and the longest word is a single lookup.
+ *
+ * The index cannot see changes to {@code Vertex.neighbors} or {@code Vertex.data}. After
+ * mutating a vertex, call {@link #invalidate()} on every index that {@link #covers(Vertex)} it;
+ * the next query then rebuilds from the root.
+ */
+public class WordIndex {
+  private final Vertex<String> root;
+  private Set<Vertex<String>> members;
+  private String[] wordsByLength;
+  private int[] bucketStart;
+
+  /**
+   * Creates an index for the words reachable from the given vertex.
+   *
+   * @param root the starting vertex, or null for an empty index
+   */
+  public WordIndex(Vertex<String> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the words that are reachable from the root and are strictly shorter than k
+   * characters, shortest first. Words of equal length keep their traversal order.
+   *
+   * @param k the maximum word length (exclusive)
+   * @return a read-only view of the short words
+   */
+  public List<String> shortWords(int k) {
+    ensureBuilt();
+    int count;
+    if (k <= 0) {
+      count = 0;
+    } else if (k >= bucketStart.length) {
+      count = wordsByLength.length;
+    } else {
+      count = bucketStart[k];
+    }
+    return Collections.unmodifiableList(Arrays.asList(wordsByLength).subList(0, count));
+  }
+
+  /**
+   * Prints the words that are reachable from the root and are strictly shorter than k characters.
+   *
+   * @param k the maximum word length (exclusive)
+   */
+  public void printShortWords(int k) {
+    for (String word : shortWords(k)) {
+      System.out.println(word);
+    }
+  }
+
+  /**
+   * Returns the longest word reachable from the root, including its own value. Ties go to the
+   * word reached first, matching {@link Build#longestWord(Vertex)}.
+   *
+   * @return the longest reachable word, or an empty string if the root is null
+   */
+  public String longestWord() {
+    ensureBuilt();
+    if (wordsByLength.length == 0) {
+      return "";
+    }
+    // The first word of the last bucket is the first longest word in traversal order
+    return wordsByLength[bucketStart[bucketStart.length - 2]];
+  }
+
+  /**
+   * Returns whether the given vertex is reachable from the root, meaning a change to it could
+   * change this index. Builds the index if needed.
+   *
+   * @param vertex the vertex to check
+   * @return true if the vertex was reachable from the root when the index was built
+   */
+  public boolean covers(Vertex<String> vertex) {
+    ensureBuilt();
+    return members.contains(vertex);
+  }
+
+  /**
+   * Discards the index so the next query rebuilds it from the root.
+   */
+  public void invalidate() {
+    members = null;
+    wordsByLength = null;
+    bucketStart = null;
+  }
+
+  private void ensureBuilt() {
+    if (wordsByLength != null) {
+      return;
+    }
+    Traversal<Vertex<String>> traversal = new Traversal<>(v -> v.neighbors);
+    List<String> found = new ArrayList<>();
+    traversal.run(root, v -> {
+      if (v.data != null) {
+        found.add(v.data);
+      }
+      return true;
+    });
+    int count = found.size();
+    int maxLength = 0;
+    for (String word : found) {
+      maxLength = Math.max(maxLength, word.length());
+    }
+
+    // Counting sort by length; bucketStart[len] is the number of words shorter than len
+    int[] starts = new int[maxLength + 2];
+    for (String word : found) {
+      starts[word.length() + 1]++;
+    }
+    for (int len = 1; len < starts.length; len++) {
+      starts[len] += starts[len - 1];
+    }
+    int[] fill = starts.clone();
+    String[] sorted = new String[count];
+    for (String word : found) {
+      sorted[fill[word.length()]++] = word;
+    }
+
+    members = traversal.visited();
+    bucketStart = starts;
+    wordsByLength = sorted;
+  }
+}
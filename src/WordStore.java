@@ -0,0 +1,173 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Off-heap store of one word per vertex id. The UTF-8 bytes of the words live in direct
+ * buffers outside the Java heap, and each word's length in characters is kept in a packed int
+ * array, so filtering words by length never touches the bytes or creates a String. A word is
+ * decoded only when it is actually returned.
+ *
+ * Paired with a graph that holds no payloads, such as a {@link MappedGraph}, this keeps a word
+ * graph's strings out of the garbage collector's way entirely: the heap holds two arrays of
+ * primitives instead of one String object per vertex.
+ *
+ * Lengths follow {@link String#length()}, counting UTF-16 code units, so results match the
+ * String-based methods of {@link Build}. Instances are immutable once built.
+ */
+public final class WordStore {
+  /** Arena chunk size; no word crosses a chunk boundary. */
+  private static final int CHUNK_SIZE = 1 << 30;
+  private static final int CHUNK_SHIFT = 30;
+  private static final int NULL_LENGTH = -1;
+
+  private final int[] lengths;
+  private final long[] offsets;
+  private final ByteBuffer[] chunks;
+  private final long arenaBytes;
+
+  private WordStore(int[] lengths, long[] offsets, ByteBuffer[] chunks, long arenaBytes) {
+    this.lengths = lengths;
+    this.offsets = offsets;
+    this.chunks = chunks;
+    this.arenaBytes = arenaBytes;
+  }
+
+  /**
+   * Builds a store from the payloads of a compiled word graph, so that word {@code v} is the
+   * payload of vertex {@code v}.
+   *
+   * @param graph the compiled graph
+   * @return the store
+   */
+  public static WordStore of(CsrGraph<String> graph) {
+    Builder builder = new Builder(graph.vertexCount());
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      builder.add(graph.payload(v));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Appends words one at a time, so a store can be filled while reading a file without ever
+   * holding all the words as Strings.
+   */
+  public static final class Builder {
+    private int[] lengths;
+    private long[] offsets;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long arenaBytes;
+    private int size;
+
+    /**
+     * Creates a builder.
+     *
+     * @param expectedWords the number of words expected, used to size the length table
+     */
+    public Builder(int expectedWords) {
+      lengths = new int[Math.max(16, expectedWords)];
+      offsets = new long[lengths.length];
+    }
+
+    /**
+     * Appends the word for the next vertex id.
+     *
+     * @param word the word, or null if the vertex has none
+     * @return this builder
+     */
+    public Builder add(String word) {
+      if (size == lengths.length) {
+        lengths = Arrays.copyOf(lengths, size * 2);
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      if (word == null) {
+        lengths[size] = NULL_LENGTH;
+        offsets[size++] = 0;
+        return this;
+      }
+      byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+      int needed = Integer.BYTES + bytes.length;
+      if (current == null || current.remaining() < needed) {
+        current = ByteBuffer.allocateDirect(Math.max(needed, (int) Math.min(CHUNK_SIZE, Math.max(1 << 16, arenaBytes))));
+        chunks.add(current);
+      }
+      lengths[size] = word.length();
+      offsets[size++] = ((long) (chunks.size() - 1) << CHUNK_SHIFT) | current.position();
+      current.putInt(bytes.length).put(bytes);
+      arenaBytes += needed;
+      return this;
+    }
+
+    /**
+     * Builds the store. The builder must not be used afterwards.
+     *
+     * @return the store
+     */
+    public WordStore build() {
+      return new WordStore(Arrays.copyOf(lengths, size), Arrays.copyOf(offsets, size),
+          chunks.toArray(new ByteBuffer[0]), arenaBytes);
+    }
+  }
+
+  /**
+   * Returns the number of words stored.
+   *
+   * @return the number of words
+   */
+  public int size() {
+    return lengths.length;
+  }
+
+  /**
+   * Returns the length of a word in characters, as {@link String#length()} would.
+   *
+   * @param vertex the vertex id
+   * @return the word's length, or -1 if the vertex has no word
+   */
+  public int length(int vertex) {
+    return lengths[vertex];
+  }
+
+  /**
+   * Decodes a word.
+   *
+   * @param vertex the vertex id
+   * @return the word, or null if the vertex has no word
+   */
+  public String word(int vertex) {
+    if (lengths[vertex] == NULL_LENGTH) {
+      return null;
+    }
+    ByteBuffer chunk = chunks[(int) (offsets[vertex] >>> CHUNK_SHIFT)];
+    int position = (int) (offsets[vertex] & (CHUNK_SIZE - 1));
+    byte[] bytes = new byte[chunk.getInt(position)];
+    chunk.get(position + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the number of bytes used by the word arena outside the heap.
+   *
+   * @return the arena size in bytes
+   */
+  public long offHeapBytes() {
+    return arenaBytes;
+  }
+
+  /**
+   * Returns the number of bytes of heap used by the length and offset tables.
+   *
+   * @return the table size in bytes
+   */
+  public long heapBytes() {
+    return (long) lengths.length * (Integer.BYTES + Long.BYTES);
+  }
+
+  @Override
+  public String toString() {
+    return "WordStore{words=" + size() + ", offHeapBytes=" + offHeapBytes() + ", heapBytes=" + heapBytes() + "}";
+  }
+}
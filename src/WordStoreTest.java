@@ -0,0 +1,43 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class WordStoreTest {
+
+  @Test
+  public void testMatchesPayloads() {
+    Map<String, List<String>> map = new LinkedHashMap<>();
+    map.put("naïve", new ArrayList<>(Arrays.asList("go", "crème", null)));
+    map.put("go", new ArrayList<>(Arrays.asList("straße")));
+    map.put("straße", new ArrayList<>());
+    CsrGraph<String> graph = CsrGraph.compile(map);
+    WordStore words = WordStore.of(graph);
+
+    assertEquals(graph.vertexCount(), words.size());
+    for (int v = 0; v < graph.vertexCount(); v++) {
+      assertEquals(graph.payload(v), words.word(v));
+      assertEquals(graph.payload(v).length(), words.length(v));
+    }
+    assertEquals(Build.longestWord(graph, 0), Build.longestWord(graph, 0, words));
+    assertEquals("", Build.longestWord(graph, -1, words));
+  }
+
+  @Test
+  public void testNullWordsAndGrowth() {
+    WordStore.Builder builder = new WordStore.Builder(1);
+    for (int i = 0; i < 20_000; i++) {
+      builder.add(i % 7 == 0 ? null : "word" + i);
+    }
+    WordStore words = builder.build();
+    assertEquals(20_000, words.size());
+    assertNull(words.word(0));
+    assertEquals(-1, words.length(7));
+    assertEquals("word19998", words.word(19_998));
+    assertEquals(9, words.length(19_998));
+  }
+}